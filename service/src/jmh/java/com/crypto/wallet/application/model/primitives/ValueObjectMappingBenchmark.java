@@ -0,0 +1,129 @@
+package com.crypto.wallet.application.model.primitives;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of turning one result-set row (symbol, email, wallet id) into value objects, with the pre-interning regex-based
+ * constructors as the baseline. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueObjectMappingBenchmark {
+
+  @Param({"2000"})
+  private int distinctSymbols;
+
+  private static final int ROWS = 4096;
+
+  private final String[] symbols = new String[ROWS];
+  private final String[] emails = new String[ROWS];
+  private final String[] walletIdStrings = new String[ROWS];
+  private final UUID[] walletIds = new UUID[ROWS];
+  private int row;
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < ROWS; i++) {
+      symbols[i] = "S" + (i % distinctSymbols);
+      emails[i] = "user" + i + "@example.com";
+      walletIds[i] = UUID.randomUUID();
+      walletIdStrings[i] = walletIds[i].toString();
+    }
+  }
+
+  @Benchmark
+  public void legacyRow(Blackhole blackhole) {
+    int i = next();
+    blackhole.consume(new LegacySymbol(symbols[i]));
+    blackhole.consume(new LegacyEmail(emails[i]));
+    blackhole.consume(new LegacyWalletId(walletIdStrings[i]));
+  }
+
+  @Benchmark
+  public void currentRow(Blackhole blackhole) {
+    int i = next();
+    blackhole.consume(Symbol.of(symbols[i]));
+    blackhole.consume(Email.of(emails[i]));
+    blackhole.consume(WalletId.of(walletIds[i]));
+  }
+
+  @Benchmark
+  public Object legacySymbol() {
+    return new LegacySymbol(symbols[next()]);
+  }
+
+  @Benchmark
+  public Symbol currentSymbol() {
+    return Symbol.of(symbols[next()]);
+  }
+
+  private int next() {
+    row = (row + 1) & (ROWS - 1);
+    return row;
+  }
+
+  private record LegacySymbol(String value) {
+
+    LegacySymbol {
+      Objects.requireNonNull(value, "Symbol cannot be null");
+      if (value.trim().isEmpty()) {
+        throw new IllegalArgumentException("Symbol cannot be empty");
+      }
+      if (value.trim().length() > 10) {
+        throw new IllegalArgumentException("Symbol cannot be longer than 10 characters");
+      }
+      value = value.trim().toUpperCase();
+      if (!value.matches("^[A-Z0-9]+$")) {
+        throw new IllegalArgumentException("Symbol must contain only uppercase letters and numbers");
+      }
+    }
+  }
+
+  private record LegacyEmail(String value) {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+
+    LegacyEmail {
+      Objects.requireNonNull(value, "Email cannot be null");
+      if (!EMAIL_PATTERN.matcher(value.trim()).matches()) {
+        throw new IllegalArgumentException("Invalid email format: " + value);
+      }
+      value = value.trim().toLowerCase();
+    }
+  }
+
+  private record LegacyWalletId(String value) {
+
+    LegacyWalletId {
+      Objects.requireNonNull(value, "WalletId cannot be null");
+      if (value.trim().isEmpty()) {
+        throw new IllegalArgumentException("WalletId cannot be empty");
+      }
+      try {
+        UUID.fromString(value.trim());
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("WalletId must be a valid UUID format");
+      }
+      value = value.trim();
+    }
+  }
+}
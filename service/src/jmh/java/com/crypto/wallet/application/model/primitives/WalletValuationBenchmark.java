@@ -0,0 +1,65 @@
+package com.crypto.wallet.application.model.primitives;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Values one wallet the way {@code Wallet.calculateTotalValue} used to ({@code Price.multiply} and {@code Price::add} per
+ * asset) against {@link MoneyAccumulator}. Run with {@code ./gradlew jmh}; the GC profiler reports bytes allocated per
+ * operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletValuationBenchmark {
+
+  @Param({"10", "100"})
+  private int assets;
+
+  private Price[] prices;
+  private Quantity[] quantities;
+
+  @Setup
+  public void setUp() {
+    var random = new Random(7);
+    prices = new Price[assets];
+    quantities = new Quantity[assets];
+    for (int i = 0; i < assets; i++) {
+      prices[i] = Price.of(BigDecimal.valueOf(random.nextLong(1, 100_000_000_000L), Price.SCALE));
+      quantities[i] = Quantity.of(BigDecimal.valueOf(random.nextLong(1, 10_000_000_000L), Quantity.SCALE));
+    }
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimalReduce() {
+    var total = BigDecimal.ZERO;
+    for (int i = 0; i < assets; i++) {
+      total = total.add(prices[i].value().multiply(quantities[i].value()).setScale(Price.SCALE, Price.ROUNDING_MODE));
+    }
+    return total.setScale(Price.SCALE, Price.ROUNDING_MODE);
+  }
+
+  @Benchmark
+  public Price accumulator() {
+    var total = new MoneyAccumulator();
+    for (int i = 0; i < assets; i++) {
+      total.addProduct(prices[i], quantities[i]);
+    }
+    return total.total();
+  }
+}
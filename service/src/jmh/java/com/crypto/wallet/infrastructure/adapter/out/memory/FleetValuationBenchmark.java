@@ -0,0 +1,67 @@
+package com.crypto.wallet.infrastructure.adapter.out.memory;
+
+import com.crypto.wallet.application.model.PortfolioSummary;
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Quantity;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.model.primitives.WalletId;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Values every holding in {@link HoldingColumns}, as the portfolio summary does, for fleets of 10 holdings per wallet spread
+ * over 200 symbols.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetValuationBenchmark {
+
+  private static final int SYMBOLS = 200;
+  private static final int HOLDINGS_PER_WALLET = 10;
+
+  @Param({"100000", "1000000"})
+  private int holdings;
+
+  private HoldingColumns columns;
+
+  @Setup
+  public void setUp() {
+    var random = new Random(7);
+    var symbols = new Symbol[SYMBOLS];
+    var prices = new Price[SYMBOLS];
+    for (int i = 0; i < SYMBOLS; i++) {
+      symbols[i] = Symbol.of("S" + i);
+      prices[i] = Price.of(BigDecimal.valueOf(random.nextLong(1, 100_000_000_000L), Price.SCALE));
+    }
+    columns = new HoldingColumns();
+    for (int wallet = 0; wallet < holdings / HOLDINGS_PER_WALLET; wallet++) {
+      var walletId = WalletId.generate();
+      var first = random.nextInt(SYMBOLS - HOLDINGS_PER_WALLET);
+      for (int i = 0; i < HOLDINGS_PER_WALLET; i++) {
+        var quantity = Quantity.of(BigDecimal.valueOf(random.nextLong(1, 10_000_000_000L), Quantity.SCALE));
+        columns.put(walletId, symbols[first + i], quantity, prices[first + i]);
+      }
+    }
+  }
+
+  @Benchmark
+  public PortfolioSummary summarize() {
+    return columns.summarize(10);
+  }
+}
@@ -0,0 +1,153 @@
+package com.crypto.wallet.infrastructure.adapter.out.postgres;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes a new price for each of {@value #SYMBOLS} held symbols, with the legacy dynamic {@code VALUES} update and with the
+ * {@code unnest} and {@code COPY} paths of {@link BulkPriceWriter}. Needs a migrated Postgres, by default the one of
+ * {@code deployment/local}; the {@code benchmark.db.url}, {@code benchmark.db.username} and {@code benchmark.db.password}
+ * system properties point it elsewhere. The wallet and prices it seeds are removed afterwards; its symbols stay registered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkPriceWriterBenchmark {
+
+  private static final int SYMBOLS = 20_000;
+  private static final String SYMBOL_PREFIX = "BENCH";
+
+  @Param({"values", "unnest", "copy"})
+  private String strategy;
+
+  private HikariDataSource dataSource;
+  private JdbcClient jdbcClient;
+  private TransactionTemplate transactionTemplate;
+  private SymbolDictionary symbolDictionary;
+  private BulkPriceWriter bulkPriceWriter;
+  private UUID walletId;
+  private List<Map<Symbol, Price>> rounds;
+  private int round;
+
+  @Setup
+  public void setUp() {
+    dataSource = new HikariDataSource();
+    dataSource.setDriverClassName("org.postgresql.Driver");
+    dataSource.setJdbcUrl(System.getProperty("benchmark.db.url", "jdbc:postgresql://localhost:5433/crypto_wallet"));
+    dataSource.setUsername(System.getProperty("benchmark.db.username", "crypto_wallet_user"));
+    dataSource.setPassword(System.getProperty("benchmark.db.password", "crypto_wallet_pass"));
+    jdbcClient = JdbcClient.create(dataSource);
+    transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    symbolDictionary = new SymbolDictionary(jdbcClient);
+    bulkPriceWriter = new BulkPriceWriter(jdbcClient, dataSource, symbolDictionary);
+
+    walletId = UUID.randomUUID();
+    jdbcClient.sql("INSERT INTO users (email, wallet_id, created_at) VALUES (?, ?, now())")
+        .param("benchmark-" + walletId + "@example.com")
+        .param(walletId)
+        .update();
+    jdbcClient.sql("""
+            INSERT INTO symbols (symbol)
+            SELECT ? || g FROM generate_series(1, ?) g
+            ON CONFLICT (symbol) DO NOTHING
+            """)
+        .param(SYMBOL_PREFIX)
+        .param(SYMBOLS)
+        .update();
+    jdbcClient.sql("""
+            INSERT INTO assets (wallet_id, symbol_id, quantity, price, updated_at)
+            SELECT ?, s.symbol_id, 1, 1, now()
+            FROM generate_series(1, ?) g
+            JOIN symbols s ON s.symbol = ? || g
+            """)
+        .param(walletId)
+        .param(SYMBOLS)
+        .param(SYMBOL_PREFIX)
+        .update();
+    symbolDictionary.load();
+
+    // Alternating prices make every write change every row.
+    rounds = List.of(prices("100.123456"), prices("101.123456"));
+  }
+
+  @TearDown
+  public void tearDown() {
+    jdbcClient.sql("DELETE FROM users WHERE wallet_id = ?").param(walletId).update();
+    jdbcClient.sql("""
+            DELETE FROM symbol_prices
+            WHERE symbol_id IN (SELECT symbol_id FROM symbols WHERE symbol LIKE ? || '%')
+            """)
+        .param(SYMBOL_PREFIX)
+        .update();
+    dataSource.close();
+  }
+
+  @Benchmark
+  public Integer write() {
+    var prices = rounds.get(round++ % rounds.size());
+    var updatedAt = OffsetDateTime.now();
+    return transactionTemplate.execute(status -> switch (strategy) {
+      case "values" -> writeWithValues(prices, updatedAt);
+      case "unnest" -> bulkPriceWriter.writeWithUnnest(prices, updatedAt);
+      case "copy" -> bulkPriceWriter.writeWithCopy(prices, updatedAt);
+      default -> throw new IllegalArgumentException("Unknown strategy: " + strategy);
+    });
+  }
+
+  private static Map<Symbol, Price> prices(String value) {
+    var price = Price.of(new BigDecimal(value));
+    return IntStream.rangeClosed(1, SYMBOLS).boxed().collect(Collectors.toMap(i -> Symbol.of(SYMBOL_PREFIX + i), i -> price));
+  }
+
+  /**
+   * The pre-bulk-writer implementation: three bind parameters per symbol and a new statement text for every batch size.
+   */
+  private int writeWithValues(Map<Symbol, Price> symbolPrices, OffsetDateTime updatedAt) {
+    var valuesClause = new StringBuilder();
+    List<Object> params = new ArrayList<>();
+    for (var entry : symbolPrices.entrySet()) {
+      if (!params.isEmpty()) {
+        valuesClause.append(", ");
+      }
+      valuesClause.append("(?, ?, ?)");
+      params.add(symbolDictionary.idOf(entry.getKey()));
+      params.add(entry.getValue().value());
+      params.add(updatedAt);
+    }
+
+    return jdbcClient.sql("""
+        UPDATE assets
+        SET price = new_values.price, updated_at = new_values.updated_at
+        FROM (VALUES %s) AS new_values(symbol_id, price, updated_at)
+        WHERE assets.symbol_id = new_values.symbol_id
+        """.formatted(valuesClause)).params(params.toArray()).update();
+  }
+}
@@ -0,0 +1,24 @@
+package com.crypto.wallet.application;
+
+import com.crypto.wallet.application.model.PortfolioSummary;
+import com.crypto.wallet.application.port.in.PortfolioUseCase;
+import com.crypto.wallet.application.port.out.HoldingsStore;
+
+public class PortfolioWorkflow implements PortfolioUseCase {
+
+  public static final int MAX_TOP_WALLETS = 100;
+
+  private final HoldingsStore holdingsStore;
+
+  public PortfolioWorkflow(HoldingsStore holdingsStore) {
+    this.holdingsStore = holdingsStore;
+  }
+
+  @Override
+  public PortfolioSummary getPortfolioSummary(int topWallets) {
+    if (topWallets < 0 || topWallets > MAX_TOP_WALLETS) {
+      throw new IllegalArgumentException("Top wallets must be between 0 and " + MAX_TOP_WALLETS);
+    }
+    return holdingsStore.summarize(topWallets);
+  }
+}
@@ -3,6 +3,7 @@ package com.crypto.wallet.application;
 import com.crypto.wallet.application.port.in.ProfitSimulationUseCase;
 import com.crypto.wallet.application.port.out.CryptoGateway;
 import com.crypto.wallet.application.service.ProfitCalculationService;
+import com.crypto.wallet.application.service.SymbolDemandTracker;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import java.math.BigDecimal;
@@ -15,10 +16,13 @@ public class ProfitSimulationWorkflow implements ProfitSimulationUseCase {
 
   private final CryptoGateway cryptoGateway;
   private final ProfitCalculationService profitCalculationService;
+  private final SymbolDemandTracker demandTracker;
 
-  public ProfitSimulationWorkflow(CryptoGateway cryptoGateway, ProfitCalculationService profitCalculationService) {
+  public ProfitSimulationWorkflow(CryptoGateway cryptoGateway, ProfitCalculationService profitCalculationService,
+      SymbolDemandTracker demandTracker) {
     this.cryptoGateway = cryptoGateway;
     this.profitCalculationService = profitCalculationService;
+    this.demandTracker = demandTracker;
   }
 
   @Override
@@ -29,6 +33,7 @@ public class ProfitSimulationWorkflow implements ProfitSimulationUseCase {
     validateAssets(assets);
 
     var currentPrices = cryptoGateway.getPrices(getSymbols(assets));
+    demandTracker.recordReads(currentPrices.keySet());
     var profitLossMap = new HashMap<Symbol, BigDecimal>();
     var assetValues = calculateAssetValues(assets, currentPrices, profitLossMap);
 
@@ -4,16 +4,18 @@ import com.crypto.wallet.application.port.in.WalletUseCase;
 import com.crypto.wallet.application.port.out.AssetRepository;
 import com.crypto.wallet.application.port.out.CryptoGateway;
 import com.crypto.wallet.application.port.out.UserRepository;
+import com.crypto.wallet.application.service.SymbolDemandTracker;
 import com.crypto.wallet.application.service.WalletDomainService;
-import com.crypto.wallet.application.model.Asset;
 import com.crypto.wallet.application.model.User;
 import com.crypto.wallet.application.model.Wallet;
+import com.crypto.wallet.application.model.WalletPage;
+import com.crypto.wallet.application.model.WalletPageQuery;
 import com.crypto.wallet.application.model.primitives.Email;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Quantity;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import com.crypto.wallet.application.model.primitives.WalletId;
-import java.util.List;
+import java.util.function.Consumer;
 
 public class WalletWorkflow implements WalletUseCase {
 
@@ -21,72 +23,86 @@ public class WalletWorkflow implements WalletUseCase {
   private final AssetRepository assetRepository;
   private final CryptoGateway cryptoGateway;
   private final WalletDomainService walletDomainService;
+  private final SymbolDemandTracker demandTracker;
 
   public WalletWorkflow(UserRepository userRepository, AssetRepository assetRepository, CryptoGateway cryptoGateway,
-      WalletDomainService walletDomainService) {
+      WalletDomainService walletDomainService, SymbolDemandTracker demandTracker) {
     this.userRepository = userRepository;
     this.assetRepository = assetRepository;
     this.cryptoGateway = cryptoGateway;
     this.walletDomainService = walletDomainService;
+    this.demandTracker = demandTracker;
   }
 
   @Override
   public User createWallet(Email email) {
-    if (userRepository.existsByEmail(email)) {
+    var user = User.create(email);
+    if (!userRepository.saveIfEmailAbsent(user)) {
       throw new IllegalArgumentException("Email already exists: " + email.value());
     }
-    var user = User.create(email);
-    userRepository.save(user);
     return user;
   }
 
   @Override
   public Wallet addAsset(WalletId walletId, Symbol symbol, Quantity quantity, Price price) {
-    validateSymbol(symbol);
-
-    var finalPrice = price;
-    if (price.isZero()) {
-      finalPrice = getCurrentPrice(symbol);
-    }
-
-    return addAssetToWallet(walletId, symbol, quantity, finalPrice);
+    return addAssetToWallet(walletId, symbol, quantity, resolvePrice(symbol, price));
   }
 
+  /**
+   * Merges the asset into the wallet with a single repository call; the weighted average and the asset cap are applied
+   * atomically by the repository, so concurrent adds to the same wallet do not lose updates.
+   */
   @Override
   public Wallet addAssetToWallet(WalletId walletId, Symbol symbol, Quantity quantity, Price price) {
-    var user = userRepository.findByWalletId(walletId)
-        .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + walletId.value()));
-
-    var wallet = Wallet.of(walletId, assetRepository.findByWalletId(walletId), user.createdAt());
-
-    if (!walletDomainService.canAddAssetToWallet(wallet, symbol, quantity, price)) {
+    if (!walletDomainService.canAddAsset(quantity, price)) {
       throw new IllegalArgumentException("Cannot add asset to wallet");
     }
 
-    var mergedAsset = assetRepository.findByWalletIdAndSymbol(walletId, symbol)
-        .map(existing -> walletDomainService.mergeAssetQuantities(existing, quantity, price))
-        .orElseGet(() -> Asset.create(walletId, symbol, quantity, price));
-
-    var updatedWallet = assetRepository.saveAssetAndReturnWallet(walletId, mergedAsset, user);
+    var updatedWallet = assetRepository.mergeAsset(walletId, symbol, quantity, price, WalletDomainService.MAX_ASSETS_PER_WALLET)
+        .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + walletId.value()));
 
+    if (!updatedWallet.hasAsset(symbol)) {
+      throw new IllegalArgumentException("Cannot add asset to wallet");
+    }
     if (!walletDomainService.isValidWallet(updatedWallet)) {
       throw new IllegalStateException("Wallet violates business invariants after update");
     }
     return updatedWallet;
   }
 
+  /**
+   * A single upstream call either way: the price lookup doubles as symbol validation when no price was supplied.
+   */
+  private Price resolvePrice(Symbol symbol, Price price) {
+    if (price.isZero()) {
+      return getCurrentPrice(symbol);
+    }
+    validateSymbol(symbol);
+    return price;
+  }
+
+  private User findOwner(WalletId walletId) {
+    return userRepository.findByWalletId(walletId)
+        .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + walletId.value()));
+  }
+
   @Override
   public Wallet getWallet(WalletId walletId) {
-    var user = userRepository.findByWalletId(walletId)
-        .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + walletId.value()));
+    var user = findOwner(walletId);
 
     var assets = assetRepository.findByWalletId(walletId);
-    return Wallet.of(walletId, assets, user.createdAt());
+    assets.forEach(asset -> demandTracker.recordRead(asset.symbol()));
+    return Wallet.ofTrusted(walletId, assets, user.createdAt());
+  }
+
+  @Override
+  public WalletPage getWallets(WalletPageQuery query) {
+    return assetRepository.findWallets(query);
   }
 
   @Override
-  public List<Wallet> getAllWallets() {
-    return assetRepository.findAllWalletsWithAssets();
+  public void exportWallets(Consumer<Wallet> consumer) {
+    assetRepository.streamAllWallets(consumer);
   }
 
   @Override
@@ -108,8 +124,10 @@ public class WalletWorkflow implements WalletUseCase {
 
   @Override
   public Price getCurrentPrice(Symbol symbol) {
-    return cryptoGateway.getPrice(symbol)
+    var price = cryptoGateway.getPrice(symbol)
         .orElseThrow(() -> new IllegalArgumentException("Unable to fetch price for symbol: " + symbol.value()));
+    demandTracker.recordRead(symbol);
+    return price;
   }
 
 
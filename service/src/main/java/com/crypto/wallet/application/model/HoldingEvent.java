@@ -0,0 +1,28 @@
+package com.crypto.wallet.application.model;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Quantity;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.model.primitives.WalletId;
+import java.util.Map;
+
+/**
+ * Committed changes to holdings and prices, published by the asset repository so that in-memory read models can follow the
+ * database without re-reading it. Every event carries absolute values, so applying one twice is harmless.
+ */
+public sealed interface HoldingEvent {
+
+  /**
+   * The wallet now holds {@code quantity} of {@code symbol}, valued at {@code price} until a refresh prices the symbol.
+   */
+  record Changed(WalletId walletId, Symbol symbol, Quantity quantity, Price price) implements HoldingEvent {}
+
+  record Removed(WalletId walletId, Symbol symbol) implements HoldingEvent {}
+
+  record PricesChanged(Map<Symbol, Price> prices) implements HoldingEvent {
+
+    public PricesChanged {
+      prices = Map.copyOf(prices);
+    }
+  }
+}
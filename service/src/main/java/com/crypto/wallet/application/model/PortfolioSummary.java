@@ -0,0 +1,25 @@
+package com.crypto.wallet.application.model;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Quantity;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.model.primitives.WalletId;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fleet-wide valuation: assets under management, exposure per symbol (largest first) and the most valuable wallets.
+ */
+public record PortfolioSummary(Price totalValue, int walletCount, int holdingCount, List<SymbolExposure> exposures,
+    List<WalletValue> topWallets) {
+
+  public PortfolioSummary {
+    Objects.requireNonNull(totalValue, "Total value cannot be null");
+    exposures = List.copyOf(exposures);
+    topWallets = List.copyOf(topWallets);
+  }
+
+  public record SymbolExposure(Symbol symbol, Quantity quantity, Price value) {}
+
+  public record WalletValue(WalletId walletId, Price totalValue) {}
+}
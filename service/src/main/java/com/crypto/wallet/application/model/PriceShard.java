@@ -0,0 +1,32 @@
+package com.crypto.wallet.application.model;
+
+import com.crypto.wallet.application.model.primitives.Symbol;
+
+/**
+ * One of {@code count} disjoint slices of the symbol universe. A symbol belongs to the shard selected by the hash of its
+ * value, which {@link String#hashCode()} fixes across JVMs, so every instance agrees on the partition.
+ */
+public record PriceShard(int index, int count) {
+
+  public PriceShard {
+    if (count < 1) {
+      throw new IllegalArgumentException("Shard count must be positive");
+    }
+    if (index < 0 || index >= count) {
+      throw new IllegalArgumentException("Shard index must be between 0 and " + (count - 1));
+    }
+  }
+
+  public static PriceShard all() {
+    return new PriceShard(0, 1);
+  }
+
+  public boolean contains(Symbol symbol) {
+    return count == 1 || Math.floorMod(symbol.value().hashCode(), count) == index;
+  }
+
+  @Override
+  public String toString() {
+    return (index + 1) + "/" + count;
+  }
+}
@@ -0,0 +1,10 @@
+package com.crypto.wallet.application.model;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.time.OffsetDateTime;
+
+/**
+ * The price last stored for a symbol by a refresh.
+ */
+public record SymbolPrice(Symbol symbol, Price price, OffsetDateTime updatedAt) {}
@@ -1,64 +1,127 @@
 package com.crypto.wallet.application.model;
 
+import com.crypto.wallet.application.model.primitives.MoneyAccumulator;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import com.crypto.wallet.application.model.primitives.WalletId;
 import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
-public record Wallet(WalletId walletId, List<Asset> assets, OffsetDateTime createdAt) {
-    
-    public Wallet {
+/**
+ * Wallet aggregate. The total value and the symbol index are computed on first use and cached; both are derived from
+ * immutable state, so concurrent first calls at worst compute the same value twice.
+ */
+public final class Wallet {
+
+    private final WalletId walletId;
+    private final List<Asset> assets;
+    private final OffsetDateTime createdAt;
+
+    private volatile Price totalValue;
+    private volatile Map<Symbol, Asset> assetsBySymbol;
+
+    private Wallet(WalletId walletId, List<Asset> assets, OffsetDateTime createdAt) {
+        this.walletId = walletId;
+        this.assets = assets;
+        this.createdAt = createdAt;
+    }
+
+    public static Wallet create(WalletId walletId) {
+        return of(walletId, Collections.emptyList(), OffsetDateTime.now());
+    }
+
+    public static Wallet of(WalletId walletId, List<Asset> assets, OffsetDateTime createdAt) {
         Objects.requireNonNull(walletId, "WalletId cannot be null");
         Objects.requireNonNull(assets, "Assets cannot be null");
         Objects.requireNonNull(createdAt, "CreatedAt cannot be null");
-        
-        assets = List.copyOf(assets);
-        
-        assets.forEach(asset -> {
+
+        var ownAssets = List.copyOf(assets);
+        ownAssets.forEach(asset -> {
             if (!asset.walletId().equals(walletId)) {
                 throw new IllegalArgumentException("Asset does not belong to this wallet: " + asset.symbol());
             }
         });
+        return new Wallet(walletId, ownAssets, createdAt);
     }
-    
-    public static Wallet create(WalletId walletId) {
-        return new Wallet(walletId, Collections.emptyList(), OffsetDateTime.now());
+
+    /**
+     * For wallets assembled by a repository, whose assets were all read for {@code walletId}: skips the defensive copy and the
+     * ownership check. The caller hands the list over and must not modify it afterwards.
+     */
+    public static Wallet ofTrusted(WalletId walletId, List<Asset> assets, OffsetDateTime createdAt) {
+        return new Wallet(walletId, Collections.unmodifiableList(assets), createdAt);
     }
-    
-    public static Wallet of(WalletId walletId, List<Asset> assets, OffsetDateTime createdAt) {
-        return new Wallet(walletId, assets, createdAt);
+
+    public WalletId walletId() {
+        return walletId;
+    }
+
+    public List<Asset> assets() {
+        return assets;
     }
-    
+
+    public OffsetDateTime createdAt() {
+        return createdAt;
+    }
+
     public Price calculateTotalValue() {
-        return assets.stream()
-                .map(Asset::calculateValue)
-                .reduce(Price.zero(), Price::add);
+        var total = totalValue;
+        if (total == null) {
+            var accumulator = new MoneyAccumulator();
+            for (var asset : assets) {
+                accumulator.addProduct(asset.price(), asset.quantity());
+            }
+            total = accumulator.total();
+            totalValue = total;
+        }
+        return total;
     }
-    
+
     public Optional<Asset> findAssetBySymbol(Symbol symbol) {
-        return assets.stream()
-                .filter(asset -> asset.symbol().equals(symbol))
-                .findFirst();
+        return Optional.ofNullable(assetsBySymbol().get(symbol));
     }
-    
+
     public boolean hasAsset(Symbol symbol) {
-        return findAssetBySymbol(symbol).isPresent();
+        return assetsBySymbol().containsKey(symbol);
     }
-    
+
     public int getAssetCount() {
         return assets.size();
     }
-    
+
+    private Map<Symbol, Asset> assetsBySymbol() {
+        var index = assetsBySymbol;
+        if (index == null) {
+            var bySymbol = new HashMap<Symbol, Asset>(assets.size() * 2);
+            // First occurrence wins, as with the former linear scan.
+            assets.forEach(asset -> bySymbol.putIfAbsent(asset.symbol(), asset));
+            index = bySymbol;
+            assetsBySymbol = index;
+        }
+        return index;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Wallet wallet && walletId.equals(wallet.walletId) && assets.equals(wallet.assets)
+                && createdAt.equals(wallet.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(walletId, assets, createdAt);
+    }
+
     @Override
     public String toString() {
         return "Wallet{" +
                 "walletId=" + walletId +
                 ", assetCount=" + assets.size() +
-                ", totalValue=" + calculateTotalValue() +
                 ", createdAt=" + createdAt +
                 '}';
     }
@@ -0,0 +1,25 @@
+package com.crypto.wallet.application.model;
+
+import com.crypto.wallet.application.model.primitives.WalletId;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * Position in the wallet listing, which is ordered newest first by {@code (createdAt, walletId)}. The next page starts with the
+ * first wallet strictly after this position.
+ */
+public record WalletCursor(OffsetDateTime createdAt, WalletId walletId) {
+
+  public WalletCursor {
+    Objects.requireNonNull(createdAt, "CreatedAt cannot be null");
+    Objects.requireNonNull(walletId, "WalletId cannot be null");
+  }
+
+  public static WalletCursor of(OffsetDateTime createdAt, WalletId walletId) {
+    return new WalletCursor(createdAt, walletId);
+  }
+
+  public static WalletCursor after(Wallet wallet) {
+    return new WalletCursor(wallet.createdAt(), wallet.walletId());
+  }
+}
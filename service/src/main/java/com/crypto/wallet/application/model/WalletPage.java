@@ -0,0 +1,21 @@
+package com.crypto.wallet.application.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public record WalletPage(List<Wallet> wallets, WalletCursor next) {
+
+  public WalletPage {
+    Objects.requireNonNull(wallets, "Wallets cannot be null");
+    wallets = List.copyOf(wallets);
+  }
+
+  public static WalletPage of(List<Wallet> wallets, WalletCursor next) {
+    return new WalletPage(wallets, next);
+  }
+
+  public Optional<WalletCursor> nextCursor() {
+    return Optional.ofNullable(next);
+  }
+}
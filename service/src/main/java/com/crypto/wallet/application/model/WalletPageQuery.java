@@ -0,0 +1,40 @@
+package com.crypto.wallet.application.model;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.util.Optional;
+
+/**
+ * One page of the wallet listing. {@code after}, {@code holding} and {@code minTotal} are optional: without a cursor the
+ * listing starts at the newest wallet, and each filter is only applied when present. {@code minTotal} requires {@code holding},
+ * so the totals it compares are only computed for the holders of one symbol.
+ */
+public record WalletPageQuery(WalletCursor after, int limit, Symbol holding, Price minTotal) {
+
+  public static final int MAX_LIMIT = 500;
+
+  public WalletPageQuery {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+    }
+    if (minTotal != null && holding == null) {
+      throw new IllegalArgumentException("A minimum total requires a holding symbol");
+    }
+  }
+
+  public static WalletPageQuery of(WalletCursor after, int limit, Symbol holding, Price minTotal) {
+    return new WalletPageQuery(after, limit, holding, minTotal);
+  }
+
+  public Optional<WalletCursor> afterCursor() {
+    return Optional.ofNullable(after);
+  }
+
+  public Optional<Symbol> holdingSymbol() {
+    return Optional.ofNullable(holding);
+  }
+
+  public Optional<Price> minimumTotal() {
+    return Optional.ofNullable(minTotal);
+  }
+}
@@ -1,25 +1,81 @@
 package com.crypto.wallet.application.model.primitives;
 
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 public record Email(String value) {
-    
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-        "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$"
-    );
+
+    private static final int MIN_TOP_LEVEL_DOMAIN_LENGTH = 2;
     
     public Email {
         Objects.requireNonNull(value, "Email cannot be null");
-        if (!EMAIL_PATTERN.matcher(value.trim()).matches()) {
-            throw new IllegalArgumentException("Invalid email format: " + value);
-        }
-        value = value.trim().toLowerCase();
+        value = normalize(value);
     }
     
     public static Email of(String email) {
         return new Email(email);
     }
+
+    /**
+     * Hand-rolled equivalent of {@code ^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}$} applied to the trimmed value,
+     * followed by lower-casing; returns the input itself when it is already canonical.
+     */
+    private static String normalize(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int at = -1;
+        int lastDot = -1;
+        boolean canonical = start == 0 && end == value.length();
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                canonical = false;
+            } else if (c == '@') {
+                if (at >= 0) {
+                    throw invalid(value);
+                }
+                at = i;
+                continue;
+            } else if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '.' && c != '-'
+                && (at >= 0 || (c != '_' && c != '%' && c != '+'))) {
+                throw invalid(value);
+            }
+            if (at >= 0 && c == '.') {
+                lastDot = i;
+            }
+        }
+
+        // The local part and the domain before the last dot must be non-empty, and the top-level domain letters only.
+        if (at <= start || lastDot <= at + 1 || end - lastDot - 1 < MIN_TOP_LEVEL_DOMAIN_LENGTH) {
+            throw invalid(value);
+        }
+        for (int i = lastDot + 1; i < end; i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= 'A' && c <= 'Z')) {
+                throw invalid(value);
+            }
+        }
+        if (canonical) {
+            return value;
+        }
+
+        var chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            chars[i - start] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return new String(chars);
+    }
+
+    private static IllegalArgumentException invalid(String value) {
+        return new IllegalArgumentException("Invalid email format: " + value);
+    }
     
     @Override
     public String toString() {
@@ -0,0 +1,90 @@
+package com.crypto.wallet.application.model.primitives;
+
+import java.math.BigDecimal;
+
+/**
+ * Sums prices and {@code price × quantity} products on scaled {@code long}s. Each product is rounded half-up to
+ * {@value Price#SCALE} decimals before it is added, exactly like {@code price.multiply(quantity)} followed by
+ * {@code Price::add}, so totals are identical to the BigDecimal arithmetic. A product or sum that leaves the {@code long}
+ * range is detected and the accumulator continues in BigDecimal from that point. Not thread-safe.
+ */
+public final class MoneyAccumulator {
+
+  private static final long QUANTITY_ONE = 100_000_000L;
+  private static final long HALF_QUANTITY_ONE = QUANTITY_ONE / 2;
+
+  private long units;
+  private BigDecimal overflow;
+
+  public MoneyAccumulator addProduct(Price price, Quantity quantity) {
+    var product = roundedProduct(price.units(), quantity.units());
+    if (product != Price.NOT_COMPACT) {
+      return addUnits(product);
+    }
+    return addDecimal(price.multiply(quantity).value());
+  }
+
+  public MoneyAccumulator add(Price price) {
+    if (price.units() != Price.NOT_COMPACT) {
+      return addUnits(price.units());
+    }
+    return addDecimal(price.value());
+  }
+
+  public Price total() {
+    return overflow == null ? Price.ofUnits(units) : Price.of(overflow);
+  }
+
+  /**
+   * Multiplies price units (scale 6) by quantity units (scale 8) and rounds the scale-14 product half-up back to scale 6.
+   * The product is formed as 128 bits with {@link Math#multiplyHigh} and divided by 10<sup>8</sup> in two 32-bit steps.
+   * Returns {@link Price#NOT_COMPACT} when either operand is not compact or the result does not fit in a {@code long}.
+   */
+  public static long roundedProduct(long priceUnits, long quantityUnits) {
+    if (priceUnits == Price.NOT_COMPACT || quantityUnits == Price.NOT_COMPACT) {
+      return Price.NOT_COMPACT;
+    }
+    var high = Math.multiplyHigh(priceUnits, quantityUnits);
+    var low = priceUnits * quantityUnits;
+    if (high == 0 && low >= 0) {
+      var whole = low / QUANTITY_ONE;
+      return low % QUANTITY_ONE >= HALF_QUANTITY_ONE ? whole + 1 : whole;
+    }
+    if (high >= QUANTITY_ONE) {
+      return Price.NOT_COMPACT;
+    }
+
+    // high < 10^8 < 2^27, so both partial dividends stay below 2^59.
+    var upper = (high << 32) | (low >>> 32);
+    var upperQuotient = upper / QUANTITY_ONE;
+    if (upperQuotient >= 1L << 31) {
+      return Price.NOT_COMPACT;
+    }
+    var lower = ((upper % QUANTITY_ONE) << 32) | (low & 0xFFFFFFFFL);
+    var whole = (upperQuotient << 32) + lower / QUANTITY_ONE;
+    if (lower % QUANTITY_ONE >= HALF_QUANTITY_ONE) {
+      whole++;
+    }
+    return whole >= 0 ? whole : Price.NOT_COMPACT;
+  }
+
+  private MoneyAccumulator addUnits(long amount) {
+    if (overflow == null) {
+      var sum = units + amount;
+      if (sum >= 0) {
+        units = sum;
+        return this;
+      }
+    }
+    return addDecimal(BigDecimal.valueOf(amount, Price.SCALE));
+  }
+
+  private MoneyAccumulator addDecimal(BigDecimal amount) {
+    if (overflow == null) {
+      overflow = BigDecimal.valueOf(units, Price.SCALE);
+      units = 0;
+    }
+    overflow = overflow.add(amount);
+    return this;
+  }
+}
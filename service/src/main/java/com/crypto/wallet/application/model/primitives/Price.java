@@ -4,38 +4,87 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Objects;
 
-public record Price(BigDecimal value) {
+/**
+ * Non-negative amount at a fixed scale of {@value #SCALE}. Besides the {@link BigDecimal} value it keeps the same amount as a
+ * scaled {@code long} whenever it fits, which {@link MoneyAccumulator} and the arithmetic here use to avoid BigDecimal math.
+ */
+public final class Price {
 
   public static final int SCALE = 6;
   public static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
 
-  private static final int PRIVATE_SCALE = 6;
+  public static final long NOT_COMPACT = Long.MIN_VALUE;
 
-  public Price {
+  private static final Price ZERO = new Price(BigDecimal.ZERO);
+
+  private final BigDecimal value;
+  private final long units;
+
+  public Price(BigDecimal value) {
     Objects.requireNonNull(value, "Price cannot be null");
-    if (value.compareTo(BigDecimal.ZERO) < 0) {
+    if (value.signum() < 0) {
+      throw new IllegalArgumentException("Price cannot be negative");
+    }
+    this.value = value.setScale(SCALE, ROUNDING_MODE);
+    this.units = compactUnits(this.value);
+  }
+
+  private Price(long units) {
+    if (units < 0) {
       throw new IllegalArgumentException("Price cannot be negative");
     }
-    value = value.setScale(PRIVATE_SCALE, RoundingMode.HALF_UP);
+    this.value = BigDecimal.valueOf(units, SCALE);
+    this.units = units;
   }
 
   public static Price of(BigDecimal value) {
     return new Price(value);
   }
 
+  /**
+   * Creates a price from an amount already expressed in units of 10<sup>-{@value #SCALE}</sup>.
+   */
+  public static Price ofUnits(long units) {
+    return new Price(units);
+  }
+
   public static Price zero() {
-    return new Price(BigDecimal.ZERO);
+    return ZERO;
+  }
+
+  public BigDecimal value() {
+    return value;
+  }
+
+  /**
+   * The amount in units of 10<sup>-{@value #SCALE}</sup>, or {@link #NOT_COMPACT} when it does not fit in a {@code long}.
+   */
+  public long units() {
+    return units;
   }
 
   public Price multiply(Quantity quantity) {
+    var product = MoneyAccumulator.roundedProduct(units, quantity.units());
+    if (product != NOT_COMPACT) {
+      return new Price(product);
+    }
     return new Price(this.value.multiply(quantity.value()));
   }
 
   public Price add(Price other) {
+    if (units != NOT_COMPACT && other.units != NOT_COMPACT) {
+      var sum = units + other.units;
+      if (sum >= 0) {
+        return new Price(sum);
+      }
+    }
     return new Price(this.value.add(other.value));
   }
 
   public Price subtract(Price other) {
+    if (units != NOT_COMPACT && other.units != NOT_COMPACT) {
+      return new Price(units - other.units);
+    }
     return new Price(this.value.subtract(other.value));
   }
 
@@ -47,7 +96,22 @@ public record Price(BigDecimal value) {
   }
 
   public boolean isZero() {
-    return value.compareTo(BigDecimal.ZERO) == 0;
+    return value.signum() == 0;
+  }
+
+  static long compactUnits(BigDecimal scaled) {
+    var unscaled = scaled.unscaledValue();
+    return unscaled.bitLength() < Long.SIZE ? unscaled.longValue() : NOT_COMPACT;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return this == other || other instanceof Price price && value.equals(price.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
   }
 
   @Override
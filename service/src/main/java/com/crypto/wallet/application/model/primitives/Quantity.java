@@ -4,32 +4,61 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Objects;
 
-public record Quantity(BigDecimal value) {
+/**
+ * Non-negative quantity at a fixed scale of {@value #SCALE}, also kept as a scaled {@code long} whenever it fits.
+ */
+public final class Quantity {
 
-  private static final int SCALE = 8;
+  public static final int SCALE = 8;
 
-  public Quantity {
+  private final BigDecimal value;
+  private final long units;
+
+  public Quantity(BigDecimal value) {
     Objects.requireNonNull(value, "Quantity cannot be null");
-    if (value.compareTo(BigDecimal.ZERO) < 0) {
+    if (value.signum() < 0) {
       throw new IllegalArgumentException("Quantity cannot be negative");
     }
-    value = value.setScale(SCALE, RoundingMode.HALF_UP);
+    this.value = value.setScale(SCALE, RoundingMode.HALF_UP);
+    this.units = Price.compactUnits(this.value);
   }
 
   public static Quantity of(BigDecimal value) {
     return new Quantity(value);
   }
 
+  public BigDecimal value() {
+    return value;
+  }
+
+  /**
+   * The quantity in units of 10<sup>-{@value #SCALE}</sup>, or {@link Price#NOT_COMPACT} when it does not fit in a
+   * {@code long}.
+   */
+  public long units() {
+    return units;
+  }
+
   public Quantity add(Quantity other) {
     return new Quantity(this.value.add(other.value));
   }
 
   public boolean isZero() {
-    return value.compareTo(BigDecimal.ZERO) == 0;
+    return value.signum() == 0;
   }
 
   public boolean isPositive() {
-    return value.compareTo(BigDecimal.ZERO) > 0;
+    return value.signum() > 0;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return this == other || other instanceof Quantity quantity && value.equals(quantity.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
   }
 
   @Override
@@ -1,25 +1,75 @@
 package com.crypto.wallet.application.model.primitives;
 
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public record Symbol(String value) {
+
+    private static final int MAX_LENGTH = 10;
+    // There are only a few thousand listed symbols; the bound keeps arbitrary user input from growing the cache forever.
+    private static final int MAX_INTERNED = 10_000;
+    private static final ConcurrentHashMap<String, Symbol> INTERNED = new ConcurrentHashMap<>();
     
     public Symbol {
+        value = normalize(value);
+    }
+    
+    /**
+     * Returns the canonical instance for the symbol, so repeated symbols share one object and one validated string.
+     */
+    public static Symbol of(String symbol) {
+        Objects.requireNonNull(symbol, "Symbol cannot be null");
+        var interned = INTERNED.get(symbol);
+        if (interned != null) {
+            return interned;
+        }
+        var created = new Symbol(symbol);
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return created;
+        }
+        var existing = INTERNED.putIfAbsent(created.value, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * Trims, upper-cases and validates without regex; returns the input itself when it is already canonical.
+     */
+    private static String normalize(String value) {
         Objects.requireNonNull(value, "Symbol cannot be null");
-        if (value.trim().isEmpty()) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
             throw new IllegalArgumentException("Symbol cannot be empty");
         }
-        if (value.trim().length() > 10) {
+        if (end - start > MAX_LENGTH) {
             throw new IllegalArgumentException("Symbol cannot be longer than 10 characters");
         }
-        value = value.trim().toUpperCase();
-        if (!value.matches("^[A-Z0-9]+$")) {
-            throw new IllegalArgumentException("Symbol must contain only uppercase letters and numbers");
+
+        boolean canonical = start == 0 && end == value.length();
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                canonical = false;
+            } else if (!(c >= 'A' && c <= 'Z') && !(c >= '0' && c <= '9')) {
+                throw new IllegalArgumentException("Symbol must contain only uppercase letters and numbers");
+            }
         }
-    }
-    
-    public static Symbol of(String symbol) {
-        return new Symbol(symbol);
+        if (canonical) {
+            return value;
+        }
+
+        var chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            chars[i - start] = c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+        }
+        return new String(chars);
     }
     
     @Override
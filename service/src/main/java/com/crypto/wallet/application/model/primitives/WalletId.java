@@ -3,35 +3,34 @@ package com.crypto.wallet.application.model.primitives;
 import java.util.Objects;
 import java.util.UUID;
 
-public record WalletId(String value) {
+public record WalletId(UUID value) {
     
     public WalletId {
         Objects.requireNonNull(value, "WalletId cannot be null");
-        if (value.trim().isEmpty()) {
+    }
+    
+    public static WalletId of(UUID walletId) {
+        return new WalletId(walletId);
+    }
+    
+    public static WalletId of(String walletId) {
+        Objects.requireNonNull(walletId, "WalletId cannot be null");
+        if (walletId.trim().isEmpty()) {
             throw new IllegalArgumentException("WalletId cannot be empty");
         }
         try {
-            UUID.fromString(value.trim());
+            return new WalletId(UUID.fromString(walletId.trim()));
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("WalletId must be a valid UUID format");
         }
-        value = value.trim();
-    }
-    
-    public static WalletId of(String walletId) {
-        return new WalletId(walletId);
     }
     
     public static WalletId generate() {
-        return new WalletId(UUID.randomUUID().toString());
-    }
-    
-    public UUID toUUID() {
-        return UUID.fromString(value);
+        return new WalletId(UUID.randomUUID());
     }
     
     @Override
     public String toString() {
-        return value;
+        return value.toString();
     }
 }
@@ -0,0 +1,8 @@
+package com.crypto.wallet.application.port.in;
+
+import com.crypto.wallet.application.model.PortfolioSummary;
+
+public interface PortfolioUseCase {
+
+  PortfolioSummary getPortfolioSummary(int topWallets);
+}
@@ -1,6 +1,27 @@
 package com.crypto.wallet.application.port.in;
 
+import com.crypto.wallet.application.model.PriceShard;
+
 public interface PriceUpdateUseCase {
 
-  void updateAllPrices();
+  default PriceUpdateResult updateAllPrices() {
+    return updatePrices(PriceShard.all());
+  }
+
+  /**
+   * Refreshes the prices of the held symbols that belong to {@code shard}. Different shards may be refreshed concurrently.
+   */
+  PriceUpdateResult updatePrices(PriceShard shard);
+
+  /**
+   * @param fetched symbols priced by the gateway
+   * @param written symbols whose price was stored
+   * @param skipped fetched symbols left as stored because their price had not moved enough
+   */
+  record PriceUpdateResult(int fetched, int written, int skipped) {
+
+    public static PriceUpdateResult none() {
+      return new PriceUpdateResult(0, 0, 0);
+    }
+  }
 }
@@ -2,12 +2,14 @@ package com.crypto.wallet.application.port.in;
 
 import com.crypto.wallet.application.model.User;
 import com.crypto.wallet.application.model.Wallet;
+import com.crypto.wallet.application.model.WalletPage;
+import com.crypto.wallet.application.model.WalletPageQuery;
 import com.crypto.wallet.application.model.primitives.Email;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Quantity;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import com.crypto.wallet.application.model.primitives.WalletId;
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface WalletUseCase {
 
@@ -19,7 +21,9 @@ public interface WalletUseCase {
 
   Wallet getWallet(WalletId walletId);
 
-  List<Wallet> getAllWallets();
+  WalletPage getWallets(WalletPageQuery query);
+
+  void exportWallets(Consumer<Wallet> consumer);
 
   User findUserByEmail(Email email);
 
@@ -1,15 +1,20 @@
 package com.crypto.wallet.application.port.out;
 
 import com.crypto.wallet.application.model.Asset;
-import com.crypto.wallet.application.model.User;
+import com.crypto.wallet.application.model.SymbolPrice;
 import com.crypto.wallet.application.model.Wallet;
+import com.crypto.wallet.application.model.WalletPage;
+import com.crypto.wallet.application.model.WalletPageQuery;
 import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Quantity;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import com.crypto.wallet.application.model.primitives.WalletId;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface AssetRepository {
 
@@ -21,11 +26,38 @@ public interface AssetRepository {
 
   Set<Symbol> findAllUniqueSymbols();
 
+  /**
+   * The number of wallets holding each held symbol.
+   */
+  Map<Symbol, Integer> countHoldersBySymbol();
+
   void updatePricesForSymbols(Map<Symbol, Price> symbolPrices);
 
-  Wallet saveAssetAndReturnWallet(WalletId walletId, Asset assetToSave, User walletOwner);
+  /**
+   * Every stored refresh price with the time it was written.
+   */
+  List<SymbolPrice> findLatestPrices();
+
+  /**
+   * Stored refresh prices written after {@code since}, by any instance.
+   */
+  List<SymbolPrice> findPricesUpdatedSince(OffsetDateTime since);
+
+  /**
+   * Adds {@code quantity} at {@code price} to the wallet's holding of {@code symbol}, merging into an existing holding at the
+   * quantity-weighted average price. A new symbol is only added while the wallet holds fewer than {@code maxAssets} assets.
+   *
+   * @return the wallet after the merge, without {@code symbol} if the asset cap prevented adding it, or empty if the wallet
+   * does not exist
+   */
+  Optional<Wallet> mergeAsset(WalletId walletId, Symbol symbol, Quantity quantity, Price price, int maxAssets);
 
   void delete(WalletId walletId, Symbol symbol);
 
-  List<Wallet> findAllWalletsWithAssets();
+  WalletPage findWallets(WalletPageQuery query);
+
+  /**
+   * Passes every wallet, newest first, to {@code consumer} one at a time without materializing the whole listing.
+   */
+  void streamAllWallets(Consumer<Wallet> consumer);
 }
@@ -5,6 +5,7 @@ import com.crypto.wallet.application.model.primitives.Symbol;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CryptoGateway {
 
@@ -12,6 +13,26 @@ public interface CryptoGateway {
 
   Map<Symbol, Price> getPrices(List<Symbol> symbols);
 
+  /**
+   * Passes prices to {@code consumer} in batches as they become available, possibly from several threads at once, and returns
+   * once every batch has been passed. Symbols without a price are left out. The default passes a single batch once
+   * {@link #getPrices} returns.
+   */
+  default void fetchPrices(List<Symbol> symbols, Consumer<Map<Symbol, Price>> consumer) {
+    var prices = getPrices(symbols);
+    if (!prices.isEmpty()) {
+      consumer.accept(prices);
+    }
+  }
+
+  /**
+   * Like {@link #fetchPrices}, but every price comes from the upstream source, never from a cache; caches in between store what
+   * passes through. The default simply fetches.
+   */
+  default void refreshPrices(List<Symbol> symbols, Consumer<Map<Symbol, Price>> consumer) {
+    fetchPrices(symbols, consumer);
+  }
+
   boolean validateSymbol(Symbol symbol);
 
 }
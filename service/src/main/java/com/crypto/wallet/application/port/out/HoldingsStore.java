@@ -0,0 +1,13 @@
+package com.crypto.wallet.application.port.out;
+
+import com.crypto.wallet.application.model.PortfolioSummary;
+
+public interface HoldingsStore {
+
+  /**
+   * Values every holding at the latest known price of its symbol.
+   *
+   * @param topWallets how many of the most valuable wallets to include
+   */
+  PortfolioSummary summarize(int topWallets);
+}
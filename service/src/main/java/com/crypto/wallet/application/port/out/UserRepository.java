@@ -10,6 +10,12 @@ public interface UserRepository {
 
   void save(User user);
 
+  /**
+   * Inserts the user unless the email is already registered, in a single statement. Returns {@code false} when another user
+   * holds the email, including one created concurrently.
+   */
+  boolean saveIfEmailAbsent(User user);
+
   Optional<User> findByEmail(Email email);
 
   Optional<User> findByWalletId(WalletId walletId);
@@ -1,41 +1,258 @@
 package com.crypto.wallet.application.service;
 
+import com.crypto.wallet.application.model.PriceShard;
+import com.crypto.wallet.application.model.SymbolPrice;
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
 import com.crypto.wallet.application.port.in.PriceUpdateUseCase;
 import com.crypto.wallet.application.port.out.AssetRepository;
 import com.crypto.wallet.application.port.out.CryptoGateway;
-import java.util.List;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Refreshes the symbols the {@link SymbolRefreshScheduler} finds due and writes only the prices that moved. Due symbols are
+ * fetched with {@link CryptoGateway#refreshPrices}, so every refresh reaches the upstream source and counts against the refresh
+ * budget. The price last written for each symbol is kept in memory, seeded from the stored prices on the first run. A fetched
+ * price is written when it differs from that price by more than {@code epsilon}, relative to it, or when that price was written
+ * {@code maxAge} ago or earlier. The age bound also caps how long a write made by another instance can go unnoticed. When the
+ * symbols are refreshed shard by shard, a shard may have been refreshed elsewhere since this instance last held it, so every
+ * sharded run first catches up on the prices stored since the newest one this instance has read.
+ * <p>
+ * Fetching and writing overlap: the gateway passes prices on batch by batch, the ones to write go through a bounded queue,
+ * and the calling thread writes them in chunks of {@code writeChunkSize}, or whatever has arrived {@code writeInterval} after a
+ * chunk was started. Each chunk is written in its own transaction, so a failed run keeps the chunks written before it.
+ */
 public class DefaultPriceUpdateService implements PriceUpdateUseCase {
 
   private static final Logger logger = LoggerFactory.getLogger(DefaultPriceUpdateService.class);
 
+  private static final long ENQUEUE_WAIT_MILLIS = 100;
+  private static final long FETCH_DONE_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  // A price is stamped when its transaction starts but only visible once it commits, so a little before the newest price read
+  // is read again.
+  private static final Duration SEED_OVERLAP = Duration.ofSeconds(30);
+
   private final AssetRepository assetRepository;
   private final CryptoGateway cryptoGateway;
+  private final SymbolRefreshScheduler refreshScheduler;
+  private final ExecutorService virtualThreadExecutor;
+  private final BigDecimal epsilon;
+  private final Duration maxAge;
+  private final int writeChunkSize;
+  private final long writeIntervalNanos;
+  private final Clock clock;
+
+  private final Map<Symbol, WrittenPrice> lastWritten = new ConcurrentHashMap<>();
+  private boolean seeded;
+  private OffsetDateTime seenUpTo;
 
-  public DefaultPriceUpdateService(AssetRepository assetRepository, CryptoGateway cryptoGateway) {
+  public DefaultPriceUpdateService(AssetRepository assetRepository, CryptoGateway cryptoGateway,
+      SymbolRefreshScheduler refreshScheduler, ExecutorService virtualThreadExecutor, BigDecimal epsilon, Duration maxAge,
+      int writeChunkSize, Duration writeInterval, Clock clock) {
+    if (epsilon.signum() < 0) {
+      throw new IllegalArgumentException("Price epsilon cannot be negative");
+    }
+    if (writeChunkSize <= 0) {
+      throw new IllegalArgumentException("Write chunk size must be positive");
+    }
     this.assetRepository = assetRepository;
     this.cryptoGateway = cryptoGateway;
+    this.refreshScheduler = refreshScheduler;
+    this.virtualThreadExecutor = virtualThreadExecutor;
+    this.epsilon = epsilon;
+    this.maxAge = maxAge;
+    this.writeChunkSize = writeChunkSize;
+    this.writeIntervalNanos = writeInterval.toNanos();
+    this.clock = clock;
   }
 
   @Override
-  public void updateAllPrices() {
-    logger.info("Starting update of all unique symbol prices");
+  public PriceUpdateResult updatePrices(PriceShard shard) {
+    logger.debug("Starting update of unique symbol prices in shard {}", shard);
+
+    var holderCounts = assetRepository.countHoldersBySymbol().entrySet().stream()
+        .filter(entry -> shard.contains(entry.getKey()))
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+    if (holderCounts.isEmpty()) {
+      logger.debug("No symbols found to update in shard {}", shard);
+      return PriceUpdateResult.none();
+    }
+    seed(shard);
+    lastWritten.keySet().removeIf(symbol -> shard.contains(symbol) && !holderCounts.containsKey(symbol));
+
+    var dueSymbols = refreshScheduler.dueSymbols(holderCounts, shard, clock.instant());
+    logger.debug("Found {} unique symbols in shard {}, {} due for a refresh", holderCounts.size(), shard, dueSymbols.size());
+    if (dueSymbols.isEmpty()) {
+      return PriceUpdateResult.none();
+    }
+
+    var queue = new ArrayBlockingQueue<Map.Entry<Symbol, Price>>(writeChunkSize * 4);
+    var fetched = new AtomicInteger();
+    var writerFailed = new AtomicBoolean();
+    var fetch = CompletableFuture.runAsync(() -> cryptoGateway.refreshPrices(dueSymbols, batch -> {
+      if (writerFailed.get()) {
+        throw new CancellationException("Price writer stopped");
+      }
+      fetched.addAndGet(batch.size());
+      refreshScheduler.markRefreshed(batch.keySet(), clock.instant());
+      enqueueChanged(batch, queue, writerFailed);
+    }), virtualThreadExecutor);
+
+    int written;
+    try {
+      written = writeChunks(queue, fetch);
+    } catch (InterruptedException e) {
+      stopFetch(fetch, writerFailed);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while writing prices", e);
+    } catch (RuntimeException e) {
+      stopFetch(fetch, writerFailed);
+      throw e;
+    }
+    fetch.join();
 
-    var uniqueSymbols = assetRepository.findAllUniqueSymbols();
+    var result = new PriceUpdateResult(fetched.get(), written, fetched.get() - written);
+    logger.info("Completed price update of shard {} for {} symbols: {} written, {} unchanged", shard, result.fetched(),
+        result.written(), result.skipped());
+    return result;
+  }
+
+  /**
+   * Makes the fetchers give up at their next batch and waits for them, so a failed run neither marks symbols refreshed nor
+   * queues prices once the shard lock may be held elsewhere. The fetch then fails with a {@link CancellationException}, which
+   * is dropped in favour of the writer's failure.
+   */
+  private static void stopFetch(CompletableFuture<Void> fetch, AtomicBoolean writerFailed) {
+    writerFailed.set(true);
+    try {
+      fetch.join();
+    } catch (CancellationException | CompletionException e) {
+      logger.debug("Price fetch stopped after the writer failed: {}", e.getMessage());
+    }
+  }
 
-    if (uniqueSymbols.isEmpty()) {
-      logger.info("No symbols found to update");
+  /**
+   * Runs on the fetching threads. Blocks while the queue is full, so the fetchers cannot run ahead of the writer, but gives
+   * up once the writer has failed.
+   */
+  private void enqueueChanged(Map<Symbol, Price> batch, BlockingQueue<Map.Entry<Symbol, Price>> queue,
+      AtomicBoolean writerFailed) {
+    var now = clock.instant();
+    for (var entry : batch.entrySet()) {
+      if (!shouldWrite(lastWritten.get(entry.getKey()), entry.getValue(), now)) {
+        continue;
+      }
+      try {
+        while (!queue.offer(Map.entry(entry.getKey(), entry.getValue()), ENQUEUE_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+          if (writerFailed.get()) {
+            throw new CancellationException("Price writer stopped");
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while queueing prices", e);
+      }
+    }
+  }
+
+  /**
+   * Drains the queue until the fetch has completed and everything it queued has been written.
+   *
+   * @return the number of prices written
+   */
+  private int writeChunks(BlockingQueue<Map.Entry<Symbol, Price>> queue, CompletableFuture<Void> fetch)
+      throws InterruptedException {
+    var chunk = new HashMap<Symbol, Price>();
+    var chunkDeadline = 0L;
+    var written = 0;
+    // Checking the fetch before the queue means nothing can be queued after the last look at the queue.
+    while (!fetch.isDone() || !queue.isEmpty()) {
+      var wait = chunk.isEmpty() ? FETCH_DONE_CHECK_NANOS : Math.min(chunkDeadline - System.nanoTime(), FETCH_DONE_CHECK_NANOS);
+      var entry = queue.poll(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+      if (entry != null) {
+        if (chunk.isEmpty()) {
+          chunkDeadline = System.nanoTime() + writeIntervalNanos;
+        }
+        chunk.put(entry.getKey(), entry.getValue());
+      }
+      if (chunk.size() >= writeChunkSize || !chunk.isEmpty() && chunkDeadline - System.nanoTime() <= 0) {
+        written += flush(chunk);
+      }
+    }
+    return written + flush(chunk);
+  }
+
+  private int flush(Map<Symbol, Price> chunk) {
+    if (chunk.isEmpty()) {
+      return 0;
+    }
+    var prices = Map.copyOf(chunk);
+    chunk.clear();
+    assetRepository.updatePricesForSymbols(prices);
+    var writtenAt = clock.instant();
+    prices.forEach((symbol, price) -> lastWritten.put(symbol, new WrittenPrice(price, writtenAt)));
+    return prices.size();
+  }
+
+  private boolean shouldWrite(WrittenPrice written, Price price, Instant now) {
+    if (written == null || !written.writtenAt().plus(maxAge).isAfter(now)) {
+      return true;
+    }
+    var previous = written.price().value();
+    return price.value().subtract(previous).abs().compareTo(previous.multiply(epsilon)) > 0;
+  }
+
+  /**
+   * Reads every stored price on the first run. Later sharded runs only read the prices stored since the newest one read so far,
+   * and remember them whatever their shard, since this instance may hold any shard next.
+   */
+  private synchronized void seed(PriceShard shard) {
+    if (seeded && shard.count() == 1) {
       return;
     }
-    logger.info("Found {} unique symbols to update", uniqueSymbols.size());
-    var symbolList = List.copyOf(uniqueSymbols);
-    var currentPrices = cryptoGateway.getPrices(symbolList);
+    var stored = seenUpTo == null ? assetRepository.findLatestPrices()
+        : assetRepository.findPricesUpdatedSince(seenUpTo.minus(SEED_OVERLAP));
+    for (var symbolPrice : stored) {
+      remember(symbolPrice);
+      if (seenUpTo == null || symbolPrice.updatedAt().isAfter(seenUpTo)) {
+        seenUpTo = symbolPrice.updatedAt();
+      }
+    }
+    if (!seeded) {
+      seeded = true;
+      logger.info("Seeded {} last written prices", stored.size());
+    }
+  }
 
-    assetRepository.updatePricesForSymbols(currentPrices);
-    logger.info("Completed price update for {} symbols", currentPrices.size());
+  /**
+   * A stored write also counts as a refresh, so symbols refreshed by another instance are not fetched again right away.
+   */
+  private void remember(SymbolPrice symbolPrice) {
+    var writtenAt = symbolPrice.updatedAt().toInstant();
+    lastWritten.put(symbolPrice.symbol(), new WrittenPrice(symbolPrice.price(), writtenAt));
+    refreshScheduler.markRefreshed(symbolPrice.symbol(), writtenAt);
   }
 
+  private record WrittenPrice(Price price, Instant writtenAt) {}
 
 }
@@ -1,5 +1,6 @@
 package com.crypto.wallet.application.service;
 
+import com.crypto.wallet.application.model.primitives.MoneyAccumulator;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Quantity;
 import com.crypto.wallet.application.model.primitives.Symbol;
@@ -23,8 +24,7 @@ public class ProfitCalculationService {
   }
 
   public Price calculateCurrentValue(Quantity quantity, Price currentPrice) {
-    BigDecimal currentValue = quantity.value().multiply(currentPrice.value());
-    return Price.of(currentValue);
+    return currentPrice.multiply(quantity);
   }
 
   public Entry<Symbol, BigDecimal> findBestPerformingAsset(Map<Symbol, BigDecimal> profitLossMap) {
@@ -36,9 +36,9 @@ public class ProfitCalculationService {
   }
 
   public Price calculateTotalPortfolioValue(List<Price> assetValues) {
-    BigDecimal total = assetValues.stream().map(Price::value).reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    return Price.of(total);
+    var total = new MoneyAccumulator();
+    assetValues.forEach(total::add);
+    return total.total();
   }
 
   public boolean isValidSimulationInput(Quantity quantity, Price originalValue) {
@@ -0,0 +1,73 @@
+package com.crypto.wallet.application.service;
+
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often each symbol's price is read, so the refresh scheduler can favour symbols people are looking at. Counts are
+ * halved every {@code halfLife}, which keeps them weighted towards recent reads, and symbols whose count drops to zero are
+ * forgotten. Callers should only record symbols known to be valid, since every recorded symbol is kept until it decays.
+ */
+public class SymbolDemandTracker {
+
+  private final ConcurrentHashMap<Symbol, LongAdder> reads = new ConcurrentHashMap<>();
+  private final Duration halfLife;
+  private final Clock clock;
+
+  private volatile Instant nextDecay;
+
+  public SymbolDemandTracker(Duration halfLife, Clock clock) {
+    if (halfLife.isNegative() || halfLife.isZero()) {
+      throw new IllegalArgumentException("Demand half-life must be positive");
+    }
+    this.halfLife = halfLife;
+    this.clock = clock;
+    this.nextDecay = clock.instant().plus(halfLife);
+  }
+
+  public void recordRead(Symbol symbol) {
+    var count = reads.get(symbol);
+    if (count == null) {
+      count = reads.computeIfAbsent(symbol, key -> new LongAdder());
+    }
+    count.increment();
+  }
+
+  public void recordReads(Collection<Symbol> symbols) {
+    symbols.forEach(this::recordRead);
+  }
+
+  public long recentReads(Symbol symbol) {
+    decayIfDue();
+    var count = reads.get(symbol);
+    return count == null ? 0 : count.sum();
+  }
+
+  /**
+   * Reads recorded while the counts are halved may be halved with them or lost with a removed symbol; the counts are a
+   * ranking signal, not an audit.
+   */
+  private void decayIfDue() {
+    var now = clock.instant();
+    if (now.isBefore(nextDecay)) {
+      return;
+    }
+    synchronized (this) {
+      if (now.isBefore(nextDecay)) {
+        return;
+      }
+      var halvings = Math.min(1 + Duration.between(nextDecay, now).dividedBy(halfLife), Long.SIZE - 1);
+      reads.values().removeIf(count -> {
+        var decayed = count.sumThenReset() >> halvings;
+        count.add(decayed);
+        return decayed == 0;
+      });
+      nextDecay = now.plus(halfLife);
+    }
+  }
+}
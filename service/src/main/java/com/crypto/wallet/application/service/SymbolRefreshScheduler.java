@@ -0,0 +1,130 @@
+package com.crypto.wallet.application.service;
+
+import com.crypto.wallet.application.model.PriceShard;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which held symbols are due for a refresh. Symbols are ranked by demand, their holder count plus their recent reads,
+ * and spread over three tiers: the hottest are refreshed every {@code hotInterval}, the next every {@code warmInterval}, and the
+ * rest share what is left of the budget, but no less often than every {@code coldInterval} while the budget allows it.
+ * <p>
+ * The budget is a number of symbol refreshes per minute across all shards, each shard getting an equal part. It is counted in
+ * symbols rather than upstream requests because the gateway decides how symbols are batched into requests. Tiers are filled
+ * from the top of the ranking for as long as refreshing every remaining symbol at {@code coldInterval} still fits the budget.
+ */
+public class SymbolRefreshScheduler {
+
+  private final SymbolDemandTracker demandTracker;
+  private final Duration hotInterval;
+  private final Duration warmInterval;
+  private final double hotSeconds;
+  private final double warmSeconds;
+  private final double coldSeconds;
+  private final double budgetPerSecond;
+
+  private final Map<Symbol, Instant> lastRefreshed = new ConcurrentHashMap<>();
+
+  public SymbolRefreshScheduler(SymbolDemandTracker demandTracker, Duration hotInterval, Duration warmInterval,
+      Duration coldInterval, int budgetPerMinute) {
+    if (hotInterval.compareTo(warmInterval) > 0 || warmInterval.compareTo(coldInterval) > 0 || hotInterval.isZero()
+        || hotInterval.isNegative()) {
+      throw new IllegalArgumentException("Refresh intervals must be positive and ordered hot <= warm <= cold");
+    }
+    if (budgetPerMinute <= 0) {
+      throw new IllegalArgumentException("Refresh budget must be positive");
+    }
+    this.demandTracker = demandTracker;
+    this.hotInterval = hotInterval;
+    this.warmInterval = warmInterval;
+    this.hotSeconds = seconds(hotInterval);
+    this.warmSeconds = seconds(warmInterval);
+    this.coldSeconds = seconds(coldInterval);
+    this.budgetPerSecond = budgetPerMinute / 60.0;
+  }
+
+  /**
+   * Returns the symbols of {@code holderCounts}, all held symbols of {@code shard}, whose tier interval has passed since their
+   * last refresh, most demanded first. Symbols no longer held are forgotten.
+   */
+  public List<Symbol> dueSymbols(Map<Symbol, Integer> holderCounts, PriceShard shard, Instant now) {
+    lastRefreshed.keySet().removeIf(symbol -> shard.contains(symbol) && !holderCounts.containsKey(symbol));
+
+    var ranked = holderCounts.entrySet().stream()
+        .map(entry -> new Demand(entry.getKey(), entry.getValue() + demandTracker.recentReads(entry.getKey())))
+        .sorted(Comparator.comparingLong(Demand::score).reversed())
+        .toList();
+    var plan = plan(ranked.size(), budgetPerSecond / shard.count());
+
+    var due = new ArrayList<Symbol>();
+    for (var rank = 0; rank < ranked.size(); rank++) {
+      var symbol = ranked.get(rank).symbol();
+      var refreshed = lastRefreshed.get(symbol);
+      if (refreshed == null || !refreshed.plus(plan.intervalAt(rank)).isAfter(now)) {
+        due.add(symbol);
+      }
+    }
+    return due;
+  }
+
+  /**
+   * Records a refresh, whether this instance fetched the price or learned from storage that it was written at {@code at}.
+   */
+  public void markRefreshed(Symbol symbol, Instant at) {
+    lastRefreshed.merge(symbol, at, (current, next) -> next.isAfter(current) ? next : current);
+  }
+
+  public void markRefreshed(Set<Symbol> symbols, Instant at) {
+    symbols.forEach(symbol -> markRefreshed(symbol, at));
+  }
+
+  RefreshPlan plan(int symbols, double budgetPerSecond) {
+    var spare = budgetPerSecond - symbols / coldSeconds;
+    var hot = promotable(spare, 1 / hotSeconds - 1 / coldSeconds, symbols);
+    spare -= hot * (1 / hotSeconds - 1 / coldSeconds);
+    var warm = promotable(spare, 1 / warmSeconds - 1 / coldSeconds, symbols - hot);
+
+    var cold = symbols - hot - warm;
+    var left = budgetPerSecond - hot / hotSeconds - warm / warmSeconds;
+    // Without promotions a budget too small for coldInterval stretches it; with them, what is left may shorten it.
+    var coldIntervalSeconds = cold == 0 ? coldSeconds : Math.max(warmSeconds, cold / left);
+    return new RefreshPlan(hot, warm, hotInterval, warmInterval, Duration.ofMillis((long) Math.ceil(coldIntervalSeconds * 1000)));
+  }
+
+  private static int promotable(double spare, double extraCost, int candidates) {
+    if (spare <= 0) {
+      return 0;
+    }
+    if (extraCost <= 0) {
+      return candidates;
+    }
+    return (int) Math.min(candidates, Math.floor(spare / extraCost));
+  }
+
+  private static double seconds(Duration duration) {
+    return duration.toMillis() / 1000.0;
+  }
+
+  /**
+   * The first {@code hot} ranks are refreshed every {@code hotInterval}, the next {@code warm} every {@code warmInterval}, and
+   * the rest every {@code coldInterval}.
+   */
+  record RefreshPlan(int hot, int warm, Duration hotInterval, Duration warmInterval, Duration coldInterval) {
+
+    Duration intervalAt(int rank) {
+      if (rank < hot) {
+        return hotInterval;
+      }
+      return rank < hot + warm ? warmInterval : coldInterval;
+    }
+  }
+
+  private record Demand(Symbol symbol, long score) {}
+}
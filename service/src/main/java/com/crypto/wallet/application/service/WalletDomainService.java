@@ -4,11 +4,12 @@ import com.crypto.wallet.application.model.Asset;
 import com.crypto.wallet.application.model.Wallet;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Quantity;
-import com.crypto.wallet.application.model.primitives.Symbol;
 import java.math.BigDecimal;
 
 public class WalletDomainService {
 
+  public static final int MAX_ASSETS_PER_WALLET = 100;
+
   public Asset mergeAssetQuantities(Asset existingAsset, Quantity newQuantity, Price newPrice) {
     Quantity totalQuantity = existingAsset.quantity().add(newQuantity);
 
@@ -21,16 +22,12 @@ public class WalletDomainService {
     return existingAsset.updateQuantity(totalQuantity).updatePrice(weightedAveragePrice);
   }
 
-  public boolean canAddAssetToWallet(Wallet wallet, Symbol symbol, Quantity quantity, Price price) {
+  public boolean canAddAsset(Quantity quantity, Price price) {
     if (quantity.value().compareTo(BigDecimal.valueOf(0.00000001)) < 0) {
       return false;
     }
 
-    if (price.value().compareTo(BigDecimal.ZERO) <= 0) {
-      return false;
-    }
-
-    return wallet.getAssetCount() < 100 || wallet.hasAsset(symbol);
+    return price.value().compareTo(BigDecimal.ZERO) > 0;
   }
 
   public boolean isValidWallet(Wallet wallet) {
@@ -0,0 +1,39 @@
+package com.crypto.wallet.infrastructure.adapter.in.cronjob;
+
+import com.crypto.wallet.infrastructure.adapter.out.memory.ColumnarHoldingsStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Brings the in-memory holdings up to date with writes made by other instances. Prices are polled often, since every instance
+ * refreshes only its own shards; asset changes, including deletes, are picked up by a less frequent full reload.
+ */
+public class HoldingsSyncCronJob {
+
+  private static final Logger logger = LoggerFactory.getLogger(HoldingsSyncCronJob.class);
+
+  private final ColumnarHoldingsStore holdingsStore;
+
+  public HoldingsSyncCronJob(ColumnarHoldingsStore holdingsStore) {
+    this.holdingsStore = holdingsStore;
+  }
+
+  @Scheduled(fixedDelayString = "${holdings.sync.price-poll-in-ms:5000}")
+  public void syncPrices() {
+    try {
+      holdingsStore.syncPrices();
+    } catch (Exception e) {
+      logger.error("Error during scheduled holdings price sync: {}", e.getMessage(), e);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${holdings.sync.reload-in-ms:300000}", initialDelayString = "${holdings.sync.reload-in-ms:300000}")
+  public void reload() {
+    try {
+      holdingsStore.load();
+    } catch (Exception e) {
+      logger.error("Error during scheduled holdings reload: {}", e.getMessage(), e);
+    }
+  }
+}
@@ -1,30 +1,129 @@
 package com.crypto.wallet.infrastructure.adapter.in.cronjob;
 
+import com.crypto.wallet.application.model.PriceShard;
 import com.crypto.wallet.application.port.in.PriceUpdateUseCase;
-import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import com.crypto.wallet.application.port.in.PriceUpdateUseCase.PriceUpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockingTaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 
+/**
+ * Refreshes prices shard by shard, each shard under its own lock in the {@code shedlock} table, so every instance takes part:
+ * an instance works on up to {@code parallelShards} shards at a time and moves on to the next free shard as one finishes.
+ * Shards locked by another instance are skipped for this tick.
+ */
 public class PriceUpdateCronJob {
 
   private static final Logger logger = LoggerFactory.getLogger(PriceUpdateCronJob.class);
+  private static final String LOCK_NAME = "priceUpdateTask";
+  // A shard run fetches a few batches and takes seconds; a minute covers slow upstream calls, yet a shard held by a crashed
+  // instance is refreshed again a few ticks later. A run that overstays it can overlap another, which only repeats writes.
+  private static final Duration LOCK_AT_MOST_FOR = Duration.ofMinutes(1);
+  // Shorter than a tick, so a shard refreshed on one tick can be claimed again on the next.
+  private static final Duration LOCK_AT_LEAST_FOR = Duration.ofSeconds(5);
 
   private final PriceUpdateUseCase priceUpdateUseCase;
+  private final LockingTaskExecutor lockingTaskExecutor;
+  private final ExecutorService virtualThreadExecutor;
+  private final int shardCount;
+  private final int parallelShards;
+  private final Clock clock;
+  private final Counter writtenSymbols;
+  private final Counter skippedSymbols;
+  private final Counter claimedShards;
+  private final Counter lockedShards;
 
-  public PriceUpdateCronJob(PriceUpdateUseCase priceUpdateUseCase) {
+  public PriceUpdateCronJob(PriceUpdateUseCase priceUpdateUseCase, LockingTaskExecutor lockingTaskExecutor,
+      ExecutorService virtualThreadExecutor, int shardCount, int parallelShards, MeterRegistry meterRegistry, Clock clock) {
+    if (shardCount < 1 || parallelShards < 1) {
+      throw new IllegalArgumentException("Shard count and parallel shards must be positive");
+    }
     this.priceUpdateUseCase = priceUpdateUseCase;
+    this.lockingTaskExecutor = lockingTaskExecutor;
+    this.virtualThreadExecutor = virtualThreadExecutor;
+    this.shardCount = shardCount;
+    this.parallelShards = Math.min(parallelShards, shardCount);
+    this.clock = clock;
+    this.writtenSymbols = updatedSymbols(meterRegistry, "written");
+    this.skippedSymbols = updatedSymbols(meterRegistry, "skipped");
+    this.claimedShards = shards(meterRegistry, "claimed");
+    this.lockedShards = shards(meterRegistry, "locked");
   }
 
-  @Scheduled(fixedDelayString = "${price.update.frequency-in-ms:300000}")
-  @SchedulerLock(name = "priceUpdateTask", lockAtMostFor = "9m", lockAtLeastFor = "1m")
+  @Scheduled(fixedDelayString = "${price.update.frequency-in-ms:15000}")
   public void updatePrices() {
-    try {
-      priceUpdateUseCase.updateAllPrices();
-      logger.info("Completed price update cron job");
-    } catch (Exception e) {
-      logger.error("Error during scheduled price update cron job: {}", e.getMessage(), e);
+    var nextShard = new AtomicInteger();
+    var workers = new ArrayList<CompletableFuture<List<PriceUpdateResult>>>(parallelShards);
+    for (var i = 0; i < parallelShards; i++) {
+      workers.add(CompletableFuture.supplyAsync(() -> updateFreeShards(nextShard), virtualThreadExecutor));
+    }
+
+    var written = 0;
+    var skipped = 0;
+    var shards = 0;
+    for (var worker : workers) {
+      for (var result : worker.join()) {
+        written += result.written();
+        skipped += result.skipped();
+        shards++;
+      }
+    }
+    logger.info("Completed price update cron job for {} of {} shards ({} written, {} skipped)", shards, shardCount, written,
+        skipped);
+  }
+
+  private List<PriceUpdateResult> updateFreeShards(AtomicInteger nextShard) {
+    var results = new ArrayList<PriceUpdateResult>();
+    for (var index = nextShard.getAndIncrement(); index < shardCount; index = nextShard.getAndIncrement()) {
+      var shard = new PriceShard(index, shardCount);
+      try {
+        var run = lockingTaskExecutor.executeWithLock(() -> priceUpdateUseCase.updatePrices(shard), lockFor(shard));
+        if (run.wasExecuted()) {
+          claimedShards.increment();
+          writtenSymbols.increment(run.getResult().written());
+          skippedSymbols.increment(run.getResult().skipped());
+          results.add(run.getResult());
+        } else {
+          lockedShards.increment();
+          logger.debug("Price update shard {} is locked by another instance", shard);
+        }
+      } catch (Throwable e) {
+        logger.error("Error during scheduled price update of shard {}: {}", shard, e.getMessage(), e);
+      }
     }
+    return results;
   }
 
+  /**
+   * A single shard keeps the lock name of the unsharded job, so instances before and after the change still exclude each other.
+   */
+  private LockConfiguration lockFor(PriceShard shard) {
+    var name = shard.count() == 1 ? LOCK_NAME : LOCK_NAME + "-" + shard.index() + "-of-" + shard.count();
+    return new LockConfiguration(clock.instant(), name, LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR);
+  }
+
+  private static Counter updatedSymbols(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("price.update.symbols")
+        .description("Symbols refreshed by the price update job, by whether their price was written")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static Counter shards(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("price.update.shards")
+        .description("Price update shards this instance refreshed, or found locked by another instance")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
 }
@@ -0,0 +1,43 @@
+package com.crypto.wallet.infrastructure.adapter.in.rest;
+
+import com.crypto.wallet.application.port.in.PortfolioUseCase;
+import com.crypto.wallet.infrastructure.adapter.in.rest.dto.PortfolioSummaryResponse;
+import com.crypto.wallet.infrastructure.adapter.in.rest.dto.PortfolioSummaryResponse.Exposure;
+import com.crypto.wallet.infrastructure.adapter.in.rest.dto.PortfolioSummaryResponse.TopWallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/portfolio")
+public class PortfolioController {
+
+  private static final Logger logger = LoggerFactory.getLogger(PortfolioController.class);
+
+  private final PortfolioUseCase portfolioUseCase;
+
+  public PortfolioController(PortfolioUseCase portfolioUseCase) {
+    this.portfolioUseCase = portfolioUseCase;
+  }
+
+  @GetMapping("/summary")
+  public ResponseEntity<PortfolioSummaryResponse> getSummary(@RequestParam(defaultValue = "10") int top) {
+    var summary = portfolioUseCase.getPortfolioSummary(top);
+
+    var response = new PortfolioSummaryResponse(summary.totalValue().value(), summary.walletCount(), summary.holdingCount(),
+        summary.exposures().stream()
+            .map(exposure -> new Exposure(exposure.symbol().value(), exposure.quantity().value(), exposure.value().value()))
+            .toList(),
+        summary.topWallets().stream()
+            .map(wallet -> new TopWallet(wallet.walletId().toString(), wallet.totalValue().value()))
+            .toList());
+
+    logger.info("Valued {} holdings across {} wallets - Total value: {}", response.holdingCount(), response.walletCount(),
+        response.total());
+    return ResponseEntity.ok(response);
+  }
+}
@@ -3,6 +3,8 @@ package com.crypto.wallet.infrastructure.adapter.in.rest;
 import com.crypto.wallet.application.port.in.WalletUseCase;
 import com.crypto.wallet.application.model.Asset;
 import com.crypto.wallet.application.model.Wallet;
+import com.crypto.wallet.application.model.WalletPage;
+import com.crypto.wallet.application.model.WalletPageQuery;
 import com.crypto.wallet.application.model.primitives.Email;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Quantity;
@@ -12,19 +14,28 @@ import com.crypto.wallet.infrastructure.adapter.in.rest.dto.AddAssetRequest;
 import com.crypto.wallet.infrastructure.adapter.in.rest.dto.AssetResponse;
 import com.crypto.wallet.infrastructure.adapter.in.rest.dto.CreateWalletRequest;
 import com.crypto.wallet.infrastructure.adapter.in.rest.dto.UserResponse;
+import com.crypto.wallet.infrastructure.adapter.in.rest.dto.WalletPageResponse;
 import com.crypto.wallet.infrastructure.adapter.in.rest.dto.WalletResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/wallets")
@@ -32,10 +43,15 @@ public class WalletController {
 
   private static final Logger logger = LoggerFactory.getLogger(WalletController.class);
 
+  private static final String NDJSON = "application/x-ndjson";
+  private static final int STREAM_FLUSH_INTERVAL = 256;
+
   private final WalletUseCase walletUseCase;
+  private final ObjectMapper objectMapper;
 
-  public WalletController(WalletUseCase walletUseCase) {
+  public WalletController(WalletUseCase walletUseCase, ObjectMapper objectMapper) {
     this.walletUseCase = walletUseCase;
+    this.objectMapper = objectMapper;
   }
 
   @PostMapping
@@ -45,7 +61,7 @@ public class WalletController {
     var email = Email.of(request.email());
     var user = walletUseCase.createWallet(email);
 
-    var response = new UserResponse(user.email().value(), user.walletId().value(), user.createdAt());
+    var response = new UserResponse(user.email().value(), user.walletId().toString(), user.createdAt());
 
     logger.info("Successfully created wallet with ID: {}", user.walletId());
     return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -67,15 +83,54 @@ public class WalletController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Lists wallets newest first, one keyset page at a time. {@code symbol} is answered from the index on {@code assets.symbol_id}.
+   * {@code min_total} has no index of its own, so it is only accepted together with {@code symbol}: totals are then computed
+   * for the holders of that symbol alone, never for every wallet.
+   */
   @GetMapping
-  public ResponseEntity<List<WalletResponse>> getAllWallets() {
-    logger.info("Retrieving all wallets");
-
-    List<Wallet> wallets = walletUseCase.getAllWallets();
-    List<WalletResponse> responses = wallets.stream().map(this::mapToWalletResponse).toList();
+  public ResponseEntity<WalletPageResponse> getWallets(@RequestParam(defaultValue = "50") int limit,
+      @RequestParam(required = false) String cursor, @RequestParam(required = false) String symbol,
+      @RequestParam(name = "min_total", required = false) BigDecimal minTotal) {
+    logger.info("Retrieving wallets page (limit {}, symbol {}, min total {})", limit, symbol, minTotal);
+
+    var query = WalletPageQuery.of(cursor != null ? WalletCursorCodec.decode(cursor) : null, limit,
+        symbol != null ? Symbol.of(symbol) : null, minTotal != null ? Price.of(minTotal) : null);
+    WalletPage page = walletUseCase.getWallets(query);
+    List<WalletResponse> responses = page.wallets().stream().map(this::mapToWalletResponse).toList();
+    var nextCursor = page.nextCursor().map(WalletCursorCodec::encode).orElse(null);
+
+    logger.info("Successfully retrieved {} wallets", responses.size());
+    return ResponseEntity.ok(new WalletPageResponse(responses, nextCursor));
+  }
 
-    logger.info("Successfully retrieved {} wallets", wallets.size());
-    return ResponseEntity.ok(responses);
+  /**
+   * Exports every wallet as newline-delimited JSON, written one wallet at a time as rows arrive from the database. The first
+   * wallet is flushed immediately so clients start receiving data right away; afterwards output is flushed periodically.
+   */
+  @GetMapping(value = "/stream", produces = NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamWallets() {
+    logger.info("Streaming all wallets");
+
+    StreamingResponseBody body = outputStream -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        var written = new int[1];
+        walletUseCase.exportWallets(wallet -> {
+          try {
+            generator.writeObject(mapToWalletResponse(wallet));
+            generator.writeRaw('\n');
+            if (written[0]++ % STREAM_FLUSH_INTERVAL == 0) {
+              generator.flush();
+            }
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        logger.info("Successfully streamed {} wallets", written[0]);
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
   }
 
   @GetMapping("/{walletId}")
@@ -91,7 +146,7 @@ public class WalletController {
   private WalletResponse mapToWalletResponse(Wallet wallet) {
     var assets = wallet.assets().stream().map(this::mapToAssetResponse).toList();
 
-    return new WalletResponse(wallet.walletId().value(), wallet.calculateTotalValue().value(), assets, wallet.createdAt());
+    return new WalletResponse(wallet.walletId().toString(), wallet.calculateTotalValue().value(), assets, wallet.createdAt());
   }
 
   private AssetResponse mapToAssetResponse(Asset asset) {
@@ -0,0 +1,40 @@
+package com.crypto.wallet.infrastructure.adapter.in.rest;
+
+import com.crypto.wallet.application.model.WalletCursor;
+import com.crypto.wallet.application.model.primitives.WalletId;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes wallet listing cursors as opaque URL-safe tokens so clients cannot depend on, or tamper meaningfully with, the
+ * keyset they carry.
+ */
+final class WalletCursorCodec {
+
+  private static final String SEPARATOR = "|";
+
+  private WalletCursorCodec() {
+  }
+
+  static String encode(WalletCursor cursor) {
+    var raw = cursor.createdAt().toInstant() + SEPARATOR + cursor.walletId();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static WalletCursor decode(String token) {
+    try {
+      var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      var separator = raw.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      var createdAt = Instant.parse(raw.substring(0, separator)).atOffset(ZoneOffset.UTC);
+      return WalletCursor.of(createdAt, WalletId.of(raw.substring(separator + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.crypto.wallet.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record PortfolioSummaryResponse(
+
+    @JsonProperty("total")
+    BigDecimal total,
+
+    @JsonProperty("wallet_count")
+    int walletCount,
+
+    @JsonProperty("holding_count")
+    int holdingCount,
+
+    @JsonProperty("exposures")
+    List<Exposure> exposures,
+
+    @JsonProperty("top_wallets")
+    List<TopWallet> topWallets
+
+) {
+
+  public record Exposure(
+
+      @JsonProperty("symbol")
+      String symbol,
+
+      @JsonProperty("quantity")
+      BigDecimal quantity,
+
+      @JsonProperty("value")
+      BigDecimal value
+
+  ) {}
+
+  public record TopWallet(
+
+      @JsonProperty("id")
+      String id,
+
+      @JsonProperty("total")
+      BigDecimal total
+
+  ) {}
+}
@@ -0,0 +1,12 @@
+package com.crypto.wallet.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record WalletPageResponse(
+
+    @JsonProperty("wallets") List<WalletResponse> wallets,
+
+    @JsonProperty("next_cursor") String nextCursor) {
+
+}
@@ -0,0 +1,74 @@
+package com.crypto.wallet.infrastructure.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain} never returns {@code false} for an added value, and returns
+ * {@code true} for an absent value with roughly the configured false positive rate. Bits can only be set, so removals require
+ * building a new filter.
+ */
+class BloomFilter {
+
+  private final AtomicLongArray bits;
+  private final int bitCount;
+  private final int hashCount;
+
+  BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions must be positive");
+    }
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+    }
+    var optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    this.bits = new AtomicLongArray((bitCount + 63) >>> 6);
+  }
+
+  void put(String value) {
+    var hash = hash(value);
+    var h1 = (int) hash;
+    var h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      var index = Math.floorMod(h1 + i * h2, bitCount);
+      var word = index >>> 6;
+      var mask = 1L << index;
+      var current = bits.get(word);
+      while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+        current = bits.get(word);
+      }
+    }
+  }
+
+  boolean mightContain(String value) {
+    var hash = hash(value);
+    var h1 = (int) hash;
+    var h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      var index = Math.floorMod(h1 + i * h2, bitCount);
+      if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 64-bit FNV-1a over the UTF-8 bytes followed by a murmur3 finalizer; the two halves feed double hashing.
+   */
+  private static long hash(String value) {
+    var hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
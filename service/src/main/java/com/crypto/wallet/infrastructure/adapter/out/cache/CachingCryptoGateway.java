@@ -0,0 +1,245 @@
+package com.crypto.wallet.infrastructure.adapter.out.cache;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.port.out.CryptoGateway;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded in-process price cache in front of the upstream gateway. Entries younger than the TTL are served directly; entries
+ * past the TTL but within the stale window are served as-is while a virtual thread refreshes them; anything older is fetched
+ * synchronously. The least recently used entry is evicted once the cache grows beyond its maximum size.
+ */
+public class CachingCryptoGateway implements CryptoGateway {
+
+  private static final Logger logger = LoggerFactory.getLogger(CachingCryptoGateway.class);
+  private static final String CACHE_NAME = "prices";
+
+  private final CryptoGateway delegate;
+  private final ExecutorService virtualThreadExecutor;
+  private final Duration ttl;
+  private final Duration servableFor;
+  private final int maxSize;
+  private final Clock clock;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<Symbol, CachedPrice> entries;
+  private final Set<Symbol> refreshing = ConcurrentHashMap.newKeySet();
+
+  private final Counter hits;
+  private final Counter staleHits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  public CachingCryptoGateway(CryptoGateway delegate, ExecutorService virtualThreadExecutor, Duration ttl, Duration maxStale,
+      int maxSize, MeterRegistry meterRegistry, Clock clock) {
+    this.delegate = delegate;
+    this.virtualThreadExecutor = virtualThreadExecutor;
+    this.ttl = ttl;
+    this.servableFor = ttl.plus(maxStale);
+    this.maxSize = maxSize;
+    this.clock = clock;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Symbol, CachedPrice> eldest) {
+        if (size() > CachingCryptoGateway.this.maxSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+
+    this.hits = cacheGets(meterRegistry, "hit");
+    this.staleHits = cacheGets(meterRegistry, "stale");
+    this.misses = cacheGets(meterRegistry, "miss");
+    this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).register(meterRegistry);
+  }
+
+  /**
+   * Registers the cache size gauge, which reads this instance and so is not registered from the constructor.
+   */
+  public void registerGauges(MeterRegistry meterRegistry) {
+    Gauge.builder("cache.size", this, CachingCryptoGateway::size).tag("cache", CACHE_NAME).register(meterRegistry);
+  }
+
+  @Override
+  public Optional<Price> getPrice(Symbol symbol) {
+    var cached = lookup(symbol);
+    var now = clock.instant();
+
+    if (isFresh(cached, now)) {
+      hits.increment();
+      return Optional.of(cached.price());
+    }
+    if (isServable(cached, now)) {
+      staleHits.increment();
+      refreshInBackground(List.of(symbol));
+      return Optional.of(cached.price());
+    }
+
+    misses.increment();
+    var price = delegate.getPrice(symbol);
+    price.ifPresent(value -> store(Map.of(symbol, value)));
+    return price;
+  }
+
+  @Override
+  public Map<Symbol, Price> getPrices(List<Symbol> symbols) {
+    var lookup = lookupAll(symbols);
+    var prices = lookup.cached();
+    if (!lookup.missing().isEmpty()) {
+      var fetched = delegate.getPrices(lookup.missing());
+      store(fetched);
+      prices.putAll(fetched);
+    }
+    return prices;
+  }
+
+  /**
+   * Cached prices are passed on first as one batch; missing prices follow batch by batch as the delegate fetches them.
+   */
+  @Override
+  public void fetchPrices(List<Symbol> symbols, Consumer<Map<Symbol, Price>> consumer) {
+    var lookup = lookupAll(symbols);
+    if (!lookup.cached().isEmpty()) {
+      consumer.accept(lookup.cached());
+    }
+    if (!lookup.missing().isEmpty()) {
+      delegate.fetchPrices(lookup.missing(), fetched -> {
+        store(fetched);
+        consumer.accept(fetched);
+      });
+    }
+  }
+
+  /**
+   * Skips the cache lookup but still stores the fetched prices, so readers see them right away.
+   */
+  @Override
+  public void refreshPrices(List<Symbol> symbols, Consumer<Map<Symbol, Price>> consumer) {
+    delegate.refreshPrices(symbols, fetched -> {
+      store(fetched);
+      consumer.accept(fetched);
+    });
+  }
+
+  @Override
+  public boolean validateSymbol(Symbol symbol) {
+    if (isServable(lookup(symbol), clock.instant())) {
+      return true;
+    }
+    return delegate.validateSymbol(symbol);
+  }
+
+  private void refreshInBackground(List<Symbol> symbols) {
+    var toRefresh = symbols.stream().filter(refreshing::add).toList();
+    if (toRefresh.isEmpty()) {
+      return;
+    }
+    virtualThreadExecutor.execute(() -> {
+      try {
+        store(delegate.getPrices(toRefresh));
+      } catch (Exception e) {
+        logger.warn("Background refresh failed for {} symbols: {}", toRefresh.size(), e.getMessage());
+      } finally {
+        toRefresh.forEach(refreshing::remove);
+      }
+    });
+  }
+
+  /**
+   * Splits {@code symbols} into servable cached prices and missing symbols, refreshing stale ones in the background.
+   */
+  private CacheLookup lookupAll(List<Symbol> symbols) {
+    var prices = new HashMap<Symbol, Price>();
+    var stale = new ArrayList<Symbol>();
+    var missing = new ArrayList<Symbol>();
+    var now = clock.instant();
+
+    for (var symbol : symbols) {
+      var cached = lookup(symbol);
+      if (isFresh(cached, now)) {
+        hits.increment();
+        prices.put(symbol, cached.price());
+      } else if (isServable(cached, now)) {
+        staleHits.increment();
+        prices.put(symbol, cached.price());
+        stale.add(symbol);
+      } else {
+        misses.increment();
+        missing.add(symbol);
+      }
+    }
+
+    if (!stale.isEmpty()) {
+      refreshInBackground(stale);
+    }
+    return new CacheLookup(prices, missing);
+  }
+
+  private CachedPrice lookup(Symbol symbol) {
+    lock.lock();
+    try {
+      return entries.get(symbol);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void store(Map<Symbol, Price> prices) {
+    if (prices.isEmpty()) {
+      return;
+    }
+    var fetchedAt = clock.instant();
+    lock.lock();
+    try {
+      prices.forEach((symbol, price) -> entries.put(symbol, new CachedPrice(price, fetchedAt)));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static Counter cacheGets(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", result).register(meterRegistry);
+  }
+
+  private boolean isFresh(CachedPrice cached, Instant now) {
+    return cached != null && cached.fetchedAt().plus(ttl).isAfter(now);
+  }
+
+  private boolean isServable(CachedPrice cached, Instant now) {
+    return cached != null && cached.fetchedAt().plus(servableFor).isAfter(now);
+  }
+
+  private record CachedPrice(Price price, Instant fetchedAt) {}
+
+  private record CacheLookup(Map<Symbol, Price> cached, List<Symbol> missing) {}
+}
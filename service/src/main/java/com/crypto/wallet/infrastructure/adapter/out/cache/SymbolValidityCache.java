@@ -0,0 +1,186 @@
+package com.crypto.wallet.infrastructure.adapter.out.cache;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.port.out.CryptoGateway;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers which symbols the upstream gateway has confirmed or rejected. Confirmed symbols are kept for the lifetime of the
+ * process; rejected symbols are kept for a TTL in a bounded map fronted by a Bloom filter, so repeated junk input is answered
+ * from memory and never reaches the network. Only definitive answers from {@link CryptoGateway#validateSymbol} are cached as
+ * rejections; failures propagate and are retried on the next call.
+ */
+public class SymbolValidityCache implements CryptoGateway {
+
+  private static final Logger logger = LoggerFactory.getLogger(SymbolValidityCache.class);
+
+  private final CryptoGateway delegate;
+  private final Duration negativeTtl;
+  private final int maxNegativeEntries;
+  private final double falsePositiveRate;
+  private final Clock clock;
+
+  private final Set<Symbol> knownValid = ConcurrentHashMap.newKeySet();
+  private final ConcurrentHashMap<Symbol, Instant> knownInvalid = new ConcurrentHashMap<>();
+  private final ReentrantLock purgeLock = new ReentrantLock();
+  private volatile BloomFilter invalidFilter;
+
+  private final Counter validHits;
+  private final Counter invalidHits;
+  private final Counter misses;
+
+  public SymbolValidityCache(CryptoGateway delegate, Duration negativeTtl, int maxNegativeEntries, double falsePositiveRate,
+      MeterRegistry meterRegistry, Clock clock) {
+    this.delegate = delegate;
+    this.negativeTtl = negativeTtl;
+    this.maxNegativeEntries = maxNegativeEntries;
+    this.falsePositiveRate = falsePositiveRate;
+    this.clock = clock;
+    this.invalidFilter = new BloomFilter(maxNegativeEntries, falsePositiveRate);
+
+    this.validHits = lookups(meterRegistry, "valid");
+    this.invalidHits = lookups(meterRegistry, "invalid");
+    this.misses = lookups(meterRegistry, "miss");
+    Gauge.builder("symbol.validity.size", knownValid, Set::size).tag("set", "valid").register(meterRegistry);
+    Gauge.builder("symbol.validity.size", knownInvalid, Map::size).tag("set", "invalid").register(meterRegistry);
+  }
+
+  @Override
+  public Optional<Price> getPrice(Symbol symbol) {
+    if (isKnownInvalid(symbol)) {
+      invalidHits.increment();
+      return Optional.empty();
+    }
+    var price = delegate.getPrice(symbol);
+    price.ifPresent(value -> markValid(symbol));
+    return price;
+  }
+
+  @Override
+  public Map<Symbol, Price> getPrices(List<Symbol> symbols) {
+    var candidates = symbols.stream().filter(symbol -> !isKnownInvalid(symbol)).toList();
+    if (candidates.isEmpty()) {
+      return Map.of();
+    }
+    var prices = delegate.getPrices(candidates);
+    prices.keySet().forEach(this::markValid);
+    return prices;
+  }
+
+  @Override
+  public void fetchPrices(List<Symbol> symbols, Consumer<Map<Symbol, Price>> consumer) {
+    var candidates = symbols.stream().filter(symbol -> !isKnownInvalid(symbol)).toList();
+    if (candidates.isEmpty()) {
+      return;
+    }
+    delegate.fetchPrices(candidates, prices -> {
+      prices.keySet().forEach(this::markValid);
+      consumer.accept(prices);
+    });
+  }
+
+  @Override
+  public void refreshPrices(List<Symbol> symbols, Consumer<Map<Symbol, Price>> consumer) {
+    var candidates = symbols.stream().filter(symbol -> !isKnownInvalid(symbol)).toList();
+    if (candidates.isEmpty()) {
+      return;
+    }
+    delegate.refreshPrices(candidates, prices -> {
+      prices.keySet().forEach(this::markValid);
+      consumer.accept(prices);
+    });
+  }
+
+  @Override
+  public boolean validateSymbol(Symbol symbol) {
+    if (knownValid.contains(symbol)) {
+      validHits.increment();
+      return true;
+    }
+    if (isKnownInvalid(symbol)) {
+      invalidHits.increment();
+      return false;
+    }
+
+    misses.increment();
+    var valid = delegate.validateSymbol(symbol);
+    if (valid) {
+      markValid(symbol);
+    } else {
+      markInvalid(symbol);
+    }
+    return valid;
+  }
+
+  private boolean isKnownInvalid(Symbol symbol) {
+    if (!invalidFilter.mightContain(symbol.value())) {
+      return false;
+    }
+    var expiresAt = knownInvalid.get(symbol);
+    if (expiresAt == null) {
+      return false;
+    }
+    if (!expiresAt.isAfter(clock.instant())) {
+      knownInvalid.remove(symbol, expiresAt);
+      return false;
+    }
+    return true;
+  }
+
+  private void markValid(Symbol symbol) {
+    if (knownValid.add(symbol)) {
+      knownInvalid.remove(symbol);
+    }
+  }
+
+  private void markInvalid(Symbol symbol) {
+    if (knownInvalid.size() >= maxNegativeEntries && !purgeExpired()) {
+      logger.debug("Negative symbol cache is full, not caching {}", symbol);
+      return;
+    }
+    knownInvalid.put(symbol, clock.instant().plus(negativeTtl));
+    invalidFilter.put(symbol.value());
+  }
+
+  /**
+   * Drops expired rejections and rebuilds the Bloom filter from what is left, since bits cannot be cleared individually. A
+   * rejection recorded while the filter is being rebuilt may be missing from the new filter; that symbol is simply looked up
+   * upstream once more.
+   *
+   * @return whether there is room for another entry afterwards
+   */
+  private boolean purgeExpired() {
+    if (!purgeLock.tryLock()) {
+      return knownInvalid.size() < maxNegativeEntries;
+    }
+    try {
+      var now = clock.instant();
+      knownInvalid.entrySet().removeIf(entry -> !entry.getValue().isAfter(now));
+      var rebuilt = new BloomFilter(maxNegativeEntries, falsePositiveRate);
+      knownInvalid.keySet().forEach(symbol -> rebuilt.put(symbol.value()));
+      invalidFilter = rebuilt;
+      return knownInvalid.size() < maxNegativeEntries;
+    } finally {
+      purgeLock.unlock();
+    }
+  }
+
+  private static Counter lookups(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("symbol.validity.lookups").tag("result", result).register(meterRegistry);
+  }
+}
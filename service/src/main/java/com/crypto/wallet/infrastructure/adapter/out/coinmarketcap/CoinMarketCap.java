@@ -4,43 +4,70 @@ import com.crypto.wallet.application.port.out.CryptoGateway;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 
 public class CoinMarketCap implements CryptoGateway {
 
   private static final Logger logger = LoggerFactory.getLogger(CoinMarketCap.class);
-  private static final int CONCURRENT_PRICE_FETCH_BATCH_SIZE = 3;
   private static final String PRICE_ENDPOINT = "/price/bysymbol/";
+  private static final String SYMBOL_SEPARATOR = ",";
 
   private final RestClient restClient;
   private final ExecutorService virtualThreadExecutor;
+  private final Semaphore inFlightRequests;
+  private final RequestRateLimiter rateLimiter;
+  private final int batchSize;
+  private final SingleFlight<Symbol, Optional<Price>> inFlightLookups = new SingleFlight<>();
+  private final SingleFlight<Symbol, Boolean> inFlightValidations = new SingleFlight<>();
+  private final Timer throttleTimer;
+  private final Timer successTimer;
+  private final Timer errorTimer;
+
+  public CoinMarketCap(RestClient restClient, ExecutorService virtualThreadExecutor, int maxConcurrentRequests,
+      double requestsPerSecond, int batchSize, MeterRegistry meterRegistry) {
+    this(restClient, virtualThreadExecutor, maxConcurrentRequests, new RequestRateLimiter(requestsPerSecond), batchSize,
+        meterRegistry);
+  }
 
-  public CoinMarketCap(RestClient restClient, ExecutorService virtualThreadExecutor) {
+  CoinMarketCap(RestClient restClient, ExecutorService virtualThreadExecutor, int maxConcurrentRequests,
+      RequestRateLimiter rateLimiter, int batchSize, MeterRegistry meterRegistry) {
     this.restClient = restClient;
     this.virtualThreadExecutor = virtualThreadExecutor;
+    this.inFlightRequests = new Semaphore(maxConcurrentRequests, true);
+    this.rateLimiter = rateLimiter;
+    this.batchSize = Math.max(1, batchSize);
+    this.throttleTimer = Timer.builder("coincap.request.throttle")
+        .description("Time spent waiting for a concurrency permit and a rate limit token")
+        .register(meterRegistry);
+    this.successTimer = requestTimer(meterRegistry, "success");
+    this.errorTimer = requestTimer(meterRegistry, "error");
   }
 
   @Override
   public Optional<Price> getPrice(Symbol symbol) {
-    try {
-      var url = PRICE_ENDPOINT + symbol.value().toUpperCase();
-      var priceResponse = restClient.get().uri(url).retrieve().body(PriceResponse.class);
-
-      return extractPriceFromResponse(priceResponse);
-    } catch (Exception e) {
-      logger.warn("Failed to fetch price for symbol {}: {}", symbol, e.getMessage());
-      return Optional.empty();
-    }
+    return inFlightLookups.execute(symbol, () -> fetchPrice(symbol));
   }
 
   @Override
@@ -48,50 +75,175 @@ public class CoinMarketCap implements CryptoGateway {
     if (symbols.isEmpty()) {
       return Collections.emptyMap();
     }
-
-    logger.info("Fetching prices for {} symbols", symbols.size());
     var allPrices = new ConcurrentHashMap<Symbol, Price>();
-    var symbolsProcessedSoFar = 0;
-
-    while (symbolsProcessedSoFar < symbols.size()) {
-      var remainingSymbolsCount = symbols.size() - symbolsProcessedSoFar;
-
-      // Take up to 3 symbols at a time
-      var symbolsToProcessInThisBatch = Math.min(CONCURRENT_PRICE_FETCH_BATCH_SIZE, remainingSymbolsCount);
-      var nextBatchEndPosition = symbolsProcessedSoFar + symbolsToProcessInThisBatch;
-      var nextBatchOfSymbols = symbols.subList(symbolsProcessedSoFar, nextBatchEndPosition);
+    fetchPrices(symbols, allPrices::putAll);
+    return allPrices;
+  }
 
-      // Process current batch concurrently (max 3 symbols at once)
-      fetchPricesForBatchConcurrently(nextBatchOfSymbols, allPrices);
-      symbolsProcessedSoFar = nextBatchEndPosition;
+  @Override
+  public void fetchPrices(List<Symbol> symbols, Consumer<Map<Symbol, Price>> consumer) {
+    if (symbols.isEmpty()) {
+      return;
     }
-    return allPrices;
+
+    var distinctSymbols = symbols.stream().distinct().toList();
+    var batches = partition(distinctSymbols);
+    logger.info("Fetching prices for {} symbols in {} requests", distinctSymbols.size(), batches.size());
+
+    // Every batch gets its own virtual thread; the in-flight semaphore turns them into a sliding window,
+    // so a slow request only holds its own permit instead of stalling a whole wave. Symbols another caller is
+    // already fetching join that request instead of being requested again. Each batch is handed over as soon as it lands.
+    List<CompletableFuture<Void>> priceFetchTasks = batches.stream()
+        .map(batch -> CompletableFuture.runAsync(() -> {
+          var prices = new HashMap<Symbol, Price>();
+          inFlightLookups.executeAll(batch, this::fetchBatch).forEach((symbol, price) -> price.ifPresent(value -> prices.put(symbol, value)));
+          if (!prices.isEmpty()) {
+            consumer.accept(prices);
+          }
+        }, virtualThreadExecutor))
+        .toList();
+    CompletableFuture.allOf(priceFetchTasks.toArray(CompletableFuture[]::new)).join();
   }
 
+  /**
+   * Returns {@code false} only when CoinCap definitively has no price for the symbol: an empty result or a client error other
+   * than rate limiting. Transport failures, rate limiting and server errors throw, so callers never mistake an outage for an
+   * unknown symbol.
+   */
   @Override
   public boolean validateSymbol(Symbol symbol) {
-    return getPrice(symbol).isPresent();
+    return inFlightValidations.execute(symbol, () -> fetchValidity(symbol));
   }
 
-  private void fetchPricesForBatchConcurrently(List<Symbol> batchOfSymbols, Map<Symbol, Price> allPrices) {
-    List<CompletableFuture<Void>> concurrentPriceFetchTasks = batchOfSymbols.stream()
-        .map(symbol -> CompletableFuture.runAsync(() -> getPrice(symbol).ifPresent(price -> allPrices.put(symbol, price)),
-            virtualThreadExecutor))
+  private boolean fetchValidity(Symbol symbol) {
+    try {
+      var url = PRICE_ENDPOINT + symbol.value().toUpperCase();
+      var priceResponse = throttled(() -> restClient.get().uri(url).retrieve().body(PriceResponse.class));
+      return extractPriceFromResponse(priceResponse).isPresent();
+    } catch (HttpClientErrorException e) {
+      if (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+        throw new IllegalStateException("CoinCap rate limited validation of symbol " + symbol, e);
+      }
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while validating symbol " + symbol, e);
+    } catch (RestClientException e) {
+      throw new IllegalStateException("Unable to validate symbol " + symbol + ": " + e.getMessage(), e);
+    }
+  }
+
+  private List<List<Symbol>> partition(List<Symbol> symbols) {
+    return IntStream.range(0, (symbols.size() + batchSize - 1) / batchSize)
+        .mapToObj(i -> symbols.subList(i * batchSize, Math.min(symbols.size(), (i + 1) * batchSize)))
+        .toList();
+  }
+
+  /**
+   * Requests all symbols in one call and maps the returned {@code data} list back by position. If the response cannot be
+   * mapped, or an entry is missing or unparsable, the affected symbols are retried one by one.
+   */
+  private Map<Symbol, Optional<Price>> fetchBatch(List<Symbol> batch) {
+    if (batch.size() == 1) {
+      return Map.of(batch.get(0), fetchPrice(batch.get(0)));
+    }
+
+    var prices = new HashMap<Symbol, Price>();
+    try {
+      var url = PRICE_ENDPOINT + String.join(SYMBOL_SEPARATOR, batch.stream().map(symbol -> symbol.value().toUpperCase()).toList());
+      var priceResponse = throttled(() -> restClient.get().uri(url).retrieve().body(PriceResponse.class));
+
+      if (priceResponse != null && priceResponse.data() != null && priceResponse.data().size() == batch.size()) {
+        for (int i = 0; i < batch.size(); i++) {
+          var symbol = batch.get(i);
+          parsePrice(priceResponse.data().get(i)).ifPresent(price -> prices.put(symbol, price));
+        }
+      } else {
+        logger.warn("Batch price response for {} symbols could not be mapped, falling back to single requests", batch.size());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted while waiting to fetch prices for {} symbols", batch.size());
+      return batch.stream().collect(Collectors.toMap(symbol -> symbol, symbol -> Optional.empty()));
+    } catch (Exception e) {
+      logger.warn("Failed to fetch batch of {} symbols, falling back to single requests: {}", batch.size(), e.getMessage());
+    }
+
+    var results = new HashMap<Symbol, Optional<Price>>();
+    prices.forEach((symbol, price) -> results.put(symbol, Optional.of(price)));
+
+    var unresolved = batch.stream().filter(symbol -> !prices.containsKey(symbol)).toList();
+    var fallbacks = unresolved.stream()
+        .map(symbol -> CompletableFuture.supplyAsync(() -> fetchPrice(symbol), virtualThreadExecutor))
         .toList();
-    CompletableFuture.allOf(concurrentPriceFetchTasks.toArray(CompletableFuture[]::new)).join();
+    for (int i = 0; i < unresolved.size(); i++) {
+      results.put(unresolved.get(i), fallbacks.get(i).join());
+    }
+    return results;
   }
 
+  private Optional<Price> fetchPrice(Symbol symbol) {
+    try {
+      var url = PRICE_ENDPOINT + symbol.value().toUpperCase();
+      var priceResponse = throttled(() -> restClient.get().uri(url).retrieve().body(PriceResponse.class));
+
+      return extractPriceFromResponse(priceResponse);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted while waiting to fetch price for symbol {}", symbol);
+      return Optional.empty();
+    } catch (Exception e) {
+      logger.warn("Failed to fetch price for symbol {}: {}", symbol, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private <T> T throttled(Supplier<T> request) throws InterruptedException {
+    var waitStart = System.nanoTime();
+    inFlightRequests.acquire();
+    try {
+      rateLimiter.acquire();
+      var requestStart = System.nanoTime();
+      throttleTimer.record(requestStart - waitStart, TimeUnit.NANOSECONDS);
+      var timer = errorTimer;
+      try {
+        var response = request.get();
+        timer = successTimer;
+        return response;
+      } finally {
+        timer.record(System.nanoTime() - requestStart, TimeUnit.NANOSECONDS);
+      }
+    } finally {
+      inFlightRequests.release();
+    }
+  }
+
+  private static Timer requestTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder("coincap.request.latency")
+        .description("Latency of individual CoinCap price requests")
+        .tag("outcome", outcome)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+  }
 
   private Optional<Price> extractPriceFromResponse(PriceResponse priceResponse) {
     if (priceResponse != null && priceResponse.data() != null && !priceResponse.data().isEmpty()) {
-      var priceStr = priceResponse.data().get(0);
-      if (priceStr != null) {
-        return Optional.of(Price.of(new BigDecimal(priceStr)));
-      }
+      return parsePrice(priceResponse.data().get(0));
     }
     return Optional.empty();
   }
 
+  private Optional<Price> parsePrice(String priceStr) {
+    if (priceStr == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Price.of(new BigDecimal(priceStr)));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
   @JsonIgnoreProperties(ignoreUnknown = true)
   public record PriceResponse(long timestamp, List<String> data) {
 
@@ -0,0 +1,75 @@
+package com.crypto.wallet.infrastructure.adapter.out.coinmarketcap;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding window limiter that keeps upstream requests within a fixed rate. A whole window of permits can be consumed
+ * back-to-back after an idle period, but no window ever holds more; beyond that callers sleep until their reserved slot, which
+ * is cheap on virtual threads. The window is one second for a whole number of permits per second, so any second holds at most
+ * that many requests; other rates get the window that fits a whole number of permits.
+ */
+class RequestRateLimiter {
+
+  private static final int MAX_WINDOW_PERMITS = 10_000;
+
+  private final Ticker ticker;
+  private final long windowNanos;
+  // The slots of the last window of permits, the oldest one at next.
+  private final long[] slots;
+  private int next;
+
+  RequestRateLimiter(double permitsPerSecond) {
+    this(permitsPerSecond, Ticker.SYSTEM);
+  }
+
+  RequestRateLimiter(double permitsPerSecond, Ticker ticker) {
+    if (!(permitsPerSecond > 0)) {
+      throw new IllegalArgumentException("Permits per second must be positive");
+    }
+    var windowPermits = (int) Math.max(1, Math.min(permitsPerSecond, MAX_WINDOW_PERMITS));
+    this.ticker = ticker;
+    this.windowNanos = Math.round(windowPermits * TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    this.slots = new long[windowPermits];
+    Arrays.fill(slots, ticker.nanoTime() - windowNanos);
+  }
+
+  void acquire() throws InterruptedException {
+    var waitNanos = reserve();
+    if (waitNanos > 0) {
+      ticker.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * Reserves the earliest slot that is a full window after the permit one window's worth of permits back.
+   *
+   * @return the nanoseconds until the reserved slot, zero or less when it has already come
+   */
+  synchronized long reserve() {
+    var now = ticker.nanoTime();
+    var slot = Math.max(now, slots[next] + windowNanos);
+    slots[next] = slot;
+    next = (next + 1) % slots.length;
+    return slot - now;
+  }
+
+  interface Ticker {
+
+    Ticker SYSTEM = new Ticker() {
+      @Override
+      public long nanoTime() {
+        return System.nanoTime();
+      }
+
+      @Override
+      public void sleep(long nanos) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(nanos);
+      }
+    };
+
+    long nanoTime();
+
+    void sleep(long nanos) throws InterruptedException;
+  }
+}
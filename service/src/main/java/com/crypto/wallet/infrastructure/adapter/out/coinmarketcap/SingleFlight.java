@@ -0,0 +1,76 @@
+package com.crypto.wallet.infrastructure.adapter.out.coinmarketcap;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, everyone arriving while it is in flight waits
+ * for and shares that result. Nothing is cached once the load completes.
+ */
+class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  V execute(K key, Supplier<V> loader) {
+    var call = new CompletableFuture<V>();
+    var existing = inFlight.putIfAbsent(key, call);
+    if (existing != null) {
+      return existing.join();
+    }
+
+    try {
+      var value = loader.get();
+      call.complete(value);
+      return value;
+    } catch (RuntimeException e) {
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  /**
+   * Claims every key that is not already in flight and loads them with a single loader call; keys that are already in flight
+   * join their existing load. The loader must return a value for every key it is given.
+   */
+  Map<K, V> executeAll(List<K> keys, Function<List<K>, Map<K, V>> loader) {
+    var owned = new LinkedHashMap<K, CompletableFuture<V>>();
+    var joined = new HashMap<K, CompletableFuture<V>>();
+    for (var key : keys) {
+      var call = new CompletableFuture<V>();
+      var existing = inFlight.putIfAbsent(key, call);
+      if (existing == null) {
+        owned.put(key, call);
+      } else {
+        joined.put(key, existing);
+      }
+    }
+
+    var results = new HashMap<K, V>();
+    try {
+      if (!owned.isEmpty()) {
+        var loaded = loader.apply(List.copyOf(owned.keySet()));
+        owned.forEach((key, call) -> {
+          var value = loaded.get(key);
+          call.complete(value);
+          results.put(key, value);
+        });
+      }
+    } catch (RuntimeException e) {
+      owned.values().forEach(call -> call.completeExceptionally(e));
+      throw e;
+    } finally {
+      owned.forEach(inFlight::remove);
+    }
+
+    joined.forEach((key, call) -> results.put(key, call.join()));
+    return results;
+  }
+}
@@ -0,0 +1,140 @@
+package com.crypto.wallet.infrastructure.adapter.out.memory;
+
+import com.crypto.wallet.application.model.HoldingEvent;
+import com.crypto.wallet.application.model.PortfolioSummary;
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.port.out.AssetRepository;
+import com.crypto.wallet.application.port.out.HoldingsStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory copy of every holding in {@link HoldingColumns}, so fleet-wide valuation is a primitive loop instead of a scan of
+ * {@code assets}. It is loaded from the asset repository when the application is ready and then follows the
+ * {@link HoldingEvent}s the repository publishes, each applied once its transaction has committed. Events that arrive while
+ * a load is running are replayed on top of it; they carry absolute values, so replaying one the load already saw is harmless.
+ * <p>
+ * Events only cover writes made by this instance. Prices written by other instances are picked up by {@link #syncPrices()},
+ * and their asset changes by the next {@link #load()}; both are run periodically by {@code HoldingsSyncCronJob}.
+ */
+public class ColumnarHoldingsStore implements HoldingsStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(ColumnarHoldingsStore.class);
+  // Recent prices are read again on every sync, so a write that committed late or was stamped by a clock running slightly
+  // behind is still picked up.
+  private static final Duration PRICE_SYNC_OVERLAP = Duration.ofSeconds(30);
+
+  private final AssetRepository assetRepository;
+  private final Timer revaluations;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final List<HoldingEvent> pendingEvents = new ArrayList<>();
+  private HoldingColumns columns = new HoldingColumns();
+  private boolean loading = true;
+  private OffsetDateTime priceWatermark;
+
+  public ColumnarHoldingsStore(AssetRepository assetRepository, MeterRegistry meterRegistry) {
+    this.assetRepository = assetRepository;
+    this.revaluations = Timer.builder("portfolio.revaluation")
+        .description("Time to value every holding in the in-memory store")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Registers the holdings gauge. Called once the store is constructed, as the gauge keeps a reference to it.
+   */
+  public void registerGauges(MeterRegistry meterRegistry) {
+    Gauge.builder("portfolio.holdings", this, ColumnarHoldingsStore::holdingCount)
+        .description("Holdings in the in-memory store")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    withWriteLock(() -> loading = true);
+    var loaded = new HoldingColumns();
+    assetRepository.streamAllWallets(wallet -> wallet.assets()
+        .forEach(asset -> loaded.put(asset.walletId(), asset.symbol(), asset.quantity(), asset.price())));
+    withWriteLock(() -> {
+      pendingEvents.forEach(loaded::apply);
+      pendingEvents.clear();
+      columns = loaded;
+      loading = false;
+    });
+    logger.info("Loaded {} holdings into the holdings store", loaded.holdingCount());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void on(HoldingEvent event) {
+    withWriteLock(() -> {
+      if (loading) {
+        pendingEvents.add(event);
+      } else {
+        columns.apply(event);
+      }
+    });
+  }
+
+  /**
+   * Applies the prices stored since the last sync, whichever instance wrote them.
+   */
+  public synchronized void syncPrices() {
+    var since = priceWatermark;
+    var stored = since == null ? assetRepository.findLatestPrices()
+        : assetRepository.findPricesUpdatedSince(since.minus(PRICE_SYNC_OVERLAP));
+    if (stored.isEmpty()) {
+      return;
+    }
+    var prices = new HashMap<Symbol, Price>(stored.size() * 2);
+    var latest = since;
+    for (var symbolPrice : stored) {
+      prices.put(symbolPrice.symbol(), symbolPrice.price());
+      if (latest == null || symbolPrice.updatedAt().isAfter(latest)) {
+        latest = symbolPrice.updatedAt();
+      }
+    }
+    on(new HoldingEvent.PricesChanged(prices));
+    priceWatermark = latest;
+  }
+
+  @Override
+  public PortfolioSummary summarize(int topWallets) {
+    lock.readLock().lock();
+    try {
+      return revaluations.record(() -> columns.summarize(topWallets));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private int holdingCount() {
+    lock.readLock().lock();
+    try {
+      return columns.holdingCount();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void withWriteLock(Runnable action) {
+    lock.writeLock().lock();
+    try {
+      action.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+}
@@ -0,0 +1,417 @@
+package com.crypto.wallet.infrastructure.adapter.out.memory;
+
+import com.crypto.wallet.application.model.HoldingEvent;
+import com.crypto.wallet.application.model.PortfolioSummary;
+import com.crypto.wallet.application.model.PortfolioSummary.SymbolExposure;
+import com.crypto.wallet.application.model.PortfolioSummary.WalletValue;
+import com.crypto.wallet.application.model.primitives.MoneyAccumulator;
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Quantity;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.model.primitives.WalletId;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+/**
+ * Holdings laid out as parallel primitive arrays, one row per (wallet, symbol): the wallet and symbol as dense ints, the
+ * quantity in units of 10<sup>-8</sup> and the holding's own price in units of 10<sup>-6</sup>. Symbols are dictionary-encoded
+ * in order of first appearance and wallets keep their UUID as two longs. Removing a holding moves the last row into its
+ * place, so the rows stay packed.
+ *
+ * <p>A holding is valued at its own price until a refresh prices its symbol, then at the symbol price, just like the
+ * {@code COALESCE(symbol_prices.price, assets.price)} of the repository reads.
+ *
+ * <p>{@link #summarize} revalues every row from scratch in a fork-join loop. If a product or sum leaves the {@code long}
+ * range, the whole summary is recomputed with {@link MoneyAccumulator}s instead. Not thread-safe: writers need exclusive
+ * access, and reads may run concurrently only with other reads.
+ */
+final class HoldingColumns {
+
+  static final int LEAF_SIZE = 1 << 14;
+
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final long UNPRICED = -1;
+
+  private final Map<Symbol, Integer> symbolIds = new HashMap<>();
+  private Symbol[] symbols = new Symbol[64];
+  private Price[] prices = new Price[64];
+  private long[] priceUnits = filled(64, UNPRICED);
+  private int[] symbolHoldingCounts = new int[64];
+  private int symbolCount;
+
+  private final Map<WalletId, Integer> walletIds = new HashMap<>();
+  private long[] walletMostSignificantBits = new long[INITIAL_CAPACITY];
+  private long[] walletLeastSignificantBits = new long[INITIAL_CAPACITY];
+  private int[] walletHoldingCounts = new int[INITIAL_CAPACITY];
+  private int walletCount;
+  private int activeWalletCount;
+
+  private final Map<Long, Integer> rowsByKey = new HashMap<>();
+  private final Map<Long, Quantity> wideQuantities = new HashMap<>();
+  private final Map<Long, Price> widePrices = new HashMap<>();
+  private int[] holdingWallets = new int[INITIAL_CAPACITY];
+  private int[] holdingSymbols = new int[INITIAL_CAPACITY];
+  private long[] holdingUnits = new long[INITIAL_CAPACITY];
+  private long[] holdingPriceUnits = new long[INITIAL_CAPACITY];
+  private int holdingCount;
+
+  void apply(HoldingEvent event) {
+    switch (event) {
+      case HoldingEvent.Changed changed -> put(changed.walletId(), changed.symbol(), changed.quantity(), changed.price());
+      case HoldingEvent.Removed removed -> remove(removed.walletId(), removed.symbol());
+      case HoldingEvent.PricesChanged pricesChanged -> setPrices(pricesChanged.prices());
+    }
+  }
+
+  /**
+   * Sets the holding's quantity and its own price, the price it is valued at while its symbol has not been refreshed.
+   */
+  void put(WalletId walletId, Symbol symbol, Quantity quantity, Price price) {
+    var symbolId = symbolId(symbol);
+    var walletIndex = walletIndex(walletId);
+    var key = key(walletIndex, symbolId);
+    var row = rowsByKey.get(key);
+    if (row == null) {
+      row = appendRow(walletIndex, symbolId);
+      rowsByKey.put(key, row);
+    }
+    holdingUnits[row] = units(quantity.units(), quantity, key, wideQuantities);
+    holdingPriceUnits[row] = units(price.units(), price, key, widePrices);
+  }
+
+  void remove(WalletId walletId, Symbol symbol) {
+    var symbolId = symbolIds.get(symbol);
+    var walletIndex = walletIds.get(walletId);
+    if (symbolId == null || walletIndex == null) {
+      return;
+    }
+    var key = key(walletIndex, symbolId);
+    var row = rowsByKey.remove(key);
+    if (row == null) {
+      return;
+    }
+    wideQuantities.remove(key);
+    widePrices.remove(key);
+    var last = --holdingCount;
+    if (row != last) {
+      holdingWallets[row] = holdingWallets[last];
+      holdingSymbols[row] = holdingSymbols[last];
+      holdingUnits[row] = holdingUnits[last];
+      holdingPriceUnits[row] = holdingPriceUnits[last];
+      rowsByKey.put(key(holdingWallets[row], holdingSymbols[row]), row);
+    }
+    symbolHoldingCounts[symbolId]--;
+    if (--walletHoldingCounts[walletIndex] == 0) {
+      activeWalletCount--;
+    }
+  }
+
+  void setPrices(Map<Symbol, Price> refreshed) {
+    refreshed.forEach((symbol, price) -> {
+      var symbolId = symbolId(symbol);
+      prices[symbolId] = price;
+      priceUnits[symbolId] = price.units();
+    });
+  }
+
+  int holdingCount() {
+    return holdingCount;
+  }
+
+  PortfolioSummary summarize(int topWallets) {
+    if (holdingCount == 0) {
+      return new PortfolioSummary(Price.zero(), 0, 0, List.of(), List.of());
+    }
+    var values = new long[holdingCount];
+    var totals = new Valuation(values, 0, holdingCount).invoke();
+    if (totals.valueOverflow) {
+      return summarizeExactly(topWallets);
+    }
+
+    var walletTotals = new long[walletCount];
+    for (int row = 0; row < holdingCount; row++) {
+      var walletIndex = holdingWallets[row];
+      var sum = walletTotals[walletIndex] + values[row];
+      if (sum < 0) {
+        return summarizeExactly(topWallets);
+      }
+      walletTotals[walletIndex] = sum;
+    }
+
+    var total = new MoneyAccumulator();
+    var quantities = totals.quantityOverflow ? exactQuantities() : null;
+    var exposures = new ArrayList<SymbolExposure>();
+    for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+      if (symbolHoldingCounts[symbolId] > 0) {
+        var value = Price.ofUnits(totals.symbolValues[symbolId]);
+        total.add(value);
+        var quantity = quantities != null ? Quantity.of(quantities[symbolId])
+            : Quantity.of(BigDecimal.valueOf(totals.symbolQuantities[symbolId], Quantity.SCALE));
+        exposures.add(new SymbolExposure(symbols[symbolId], quantity, value));
+      }
+    }
+    var top = topWallets(topWallets, Comparator.comparingLong(walletIndex -> walletTotals[walletIndex]),
+        walletIndex -> Price.ofUnits(walletTotals[walletIndex]));
+    return summary(total.total(), exposures, top);
+  }
+
+  private PortfolioSummary summarizeExactly(int topWallets) {
+    var walletTotals = new MoneyAccumulator[walletCount];
+    var symbolTotals = new MoneyAccumulator[symbolCount];
+    for (int row = 0; row < holdingCount; row++) {
+      var price = priceOf(row);
+      var quantity = quantityOf(row);
+      if (walletTotals[holdingWallets[row]] == null) {
+        walletTotals[holdingWallets[row]] = new MoneyAccumulator();
+      }
+      if (symbolTotals[holdingSymbols[row]] == null) {
+        symbolTotals[holdingSymbols[row]] = new MoneyAccumulator();
+      }
+      walletTotals[holdingWallets[row]].addProduct(price, quantity);
+      symbolTotals[holdingSymbols[row]].addProduct(price, quantity);
+    }
+
+    var total = new MoneyAccumulator();
+    var quantities = exactQuantities();
+    var exposures = new ArrayList<SymbolExposure>();
+    for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+      if (symbolHoldingCounts[symbolId] > 0) {
+        var value = symbolTotals[symbolId].total();
+        total.add(value);
+        exposures.add(new SymbolExposure(symbols[symbolId], Quantity.of(quantities[symbolId]), value));
+      }
+    }
+    var walletValues = new Price[walletCount];
+    for (int walletIndex = 0; walletIndex < walletCount; walletIndex++) {
+      walletValues[walletIndex] = walletTotals[walletIndex] != null ? walletTotals[walletIndex].total() : Price.zero();
+    }
+    var top = topWallets(topWallets, Comparator.comparing(walletIndex -> walletValues[walletIndex].value()),
+        walletIndex -> walletValues[walletIndex]);
+    return summary(total.total(), exposures, top);
+  }
+
+  private PortfolioSummary summary(Price total, List<SymbolExposure> exposures, List<WalletValue> topWallets) {
+    exposures.sort(Comparator.comparing((SymbolExposure exposure) -> exposure.value().value()).reversed()
+        .thenComparing(exposure -> exposure.symbol().value()));
+    return new PortfolioSummary(total, activeWalletCount, holdingCount, exposures, topWallets);
+  }
+
+  /**
+   * Keeps the {@code limit} largest wallets in a min-heap, so only {@code limit} entries are ever ordered.
+   */
+  private List<WalletValue> topWallets(int limit, Comparator<Integer> byValue, IntFunction<Price> valueOf) {
+    if (limit == 0) {
+      return List.of();
+    }
+    var heap = new PriorityQueue<Integer>(limit, byValue);
+    for (int walletIndex = 0; walletIndex < walletCount; walletIndex++) {
+      if (walletHoldingCounts[walletIndex] == 0) {
+        continue;
+      }
+      if (heap.size() < limit) {
+        heap.offer(walletIndex);
+      } else if (byValue.compare(walletIndex, heap.peek()) > 0) {
+        heap.poll();
+        heap.offer(walletIndex);
+      }
+    }
+    var top = new ArrayList<WalletValue>(heap.size());
+    while (!heap.isEmpty()) {
+      var walletIndex = heap.poll();
+      top.add(new WalletValue(walletIdOf(walletIndex), valueOf.apply(walletIndex)));
+    }
+    return top.reversed();
+  }
+
+  private BigDecimal[] exactQuantities() {
+    var quantities = new BigDecimal[symbolCount];
+    Arrays.fill(quantities, BigDecimal.ZERO);
+    for (int row = 0; row < holdingCount; row++) {
+      quantities[holdingSymbols[row]] = quantities[holdingSymbols[row]].add(quantityOf(row).value());
+    }
+    return quantities;
+  }
+
+  private long effectivePriceUnits(int row) {
+    var symbolPrice = priceUnits[holdingSymbols[row]];
+    return symbolPrice != UNPRICED ? symbolPrice : holdingPriceUnits[row];
+  }
+
+  private Price priceOf(int row) {
+    var symbolPrice = prices[holdingSymbols[row]];
+    if (symbolPrice != null) {
+      return symbolPrice;
+    }
+    var units = holdingPriceUnits[row];
+    return units != Price.NOT_COMPACT ? Price.ofUnits(units) : widePrices.get(key(holdingWallets[row], holdingSymbols[row]));
+  }
+
+  private static <T> long units(long units, T value, long key, Map<Long, T> wideValues) {
+    if (units == Price.NOT_COMPACT) {
+      wideValues.put(key, value);
+    } else {
+      wideValues.remove(key);
+    }
+    return units;
+  }
+
+  private Quantity quantityOf(int row) {
+    var units = holdingUnits[row];
+    if (units == Price.NOT_COMPACT) {
+      return wideQuantities.get(key(holdingWallets[row], holdingSymbols[row]));
+    }
+    return Quantity.of(BigDecimal.valueOf(units, Quantity.SCALE));
+  }
+
+  private WalletId walletIdOf(int walletIndex) {
+    return new WalletId(new UUID(walletMostSignificantBits[walletIndex], walletLeastSignificantBits[walletIndex]));
+  }
+
+  private int symbolId(Symbol symbol) {
+    var symbolId = symbolIds.get(symbol);
+    if (symbolId != null) {
+      return symbolId;
+    }
+    if (symbolCount == symbols.length) {
+      var capacity = symbolCount * 2;
+      symbols = Arrays.copyOf(symbols, capacity);
+      prices = Arrays.copyOf(prices, capacity);
+      priceUnits = Arrays.copyOf(priceUnits, capacity);
+      Arrays.fill(priceUnits, symbolCount, capacity, UNPRICED);
+      symbolHoldingCounts = Arrays.copyOf(symbolHoldingCounts, capacity);
+    }
+    symbols[symbolCount] = symbol;
+    symbolIds.put(symbol, symbolCount);
+    return symbolCount++;
+  }
+
+  private int walletIndex(WalletId walletId) {
+    var walletIndex = walletIds.get(walletId);
+    if (walletIndex != null) {
+      return walletIndex;
+    }
+    if (walletCount == walletHoldingCounts.length) {
+      var capacity = walletCount * 2;
+      walletMostSignificantBits = Arrays.copyOf(walletMostSignificantBits, capacity);
+      walletLeastSignificantBits = Arrays.copyOf(walletLeastSignificantBits, capacity);
+      walletHoldingCounts = Arrays.copyOf(walletHoldingCounts, capacity);
+    }
+    walletMostSignificantBits[walletCount] = walletId.value().getMostSignificantBits();
+    walletLeastSignificantBits[walletCount] = walletId.value().getLeastSignificantBits();
+    walletIds.put(walletId, walletCount);
+    return walletCount++;
+  }
+
+  private int appendRow(int walletIndex, int symbolId) {
+    if (holdingCount == holdingUnits.length) {
+      var capacity = holdingCount * 2;
+      holdingWallets = Arrays.copyOf(holdingWallets, capacity);
+      holdingSymbols = Arrays.copyOf(holdingSymbols, capacity);
+      holdingUnits = Arrays.copyOf(holdingUnits, capacity);
+      holdingPriceUnits = Arrays.copyOf(holdingPriceUnits, capacity);
+    }
+    holdingWallets[holdingCount] = walletIndex;
+    holdingSymbols[holdingCount] = symbolId;
+    symbolHoldingCounts[symbolId]++;
+    if (walletHoldingCounts[walletIndex]++ == 0) {
+      activeWalletCount++;
+    }
+    return holdingCount++;
+  }
+
+  private static long[] filled(int length, long value) {
+    var array = new long[length];
+    Arrays.fill(array, value);
+    return array;
+  }
+
+  private static long key(int walletIndex, int symbolId) {
+    return (long) walletIndex << 32 | symbolId;
+  }
+
+  /**
+   * Values rows {@code [from, to)} into {@code values} and sums them per symbol, splitting in halves down to
+   * {@value #LEAF_SIZE} rows.
+   */
+  @SuppressWarnings("serial")
+  private final class Valuation extends RecursiveTask<SymbolTotals> {
+
+    private final long[] values;
+    private final int from;
+    private final int to;
+
+    Valuation(long[] values, int from, int to) {
+      this.values = values;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected SymbolTotals compute() {
+      if (to - from <= LEAF_SIZE) {
+        return valueRows();
+      }
+      var middle = (from + to) >>> 1;
+      var left = new Valuation(values, from, middle);
+      left.fork();
+      var right = new Valuation(values, middle, to).compute();
+      return left.join().merge(right);
+    }
+
+    private SymbolTotals valueRows() {
+      var totals = new SymbolTotals(symbolCount);
+      var symbolValues = totals.symbolValues;
+      var symbolQuantities = totals.symbolQuantities;
+      for (int row = from; row < to; row++) {
+        var symbolId = holdingSymbols[row];
+        var units = holdingUnits[row];
+        var value = MoneyAccumulator.roundedProduct(effectivePriceUnits(row), units);
+        if (value < 0 || (symbolValues[symbolId] += value) < 0) {
+          totals.valueOverflow = true;
+          return totals;
+        }
+        values[row] = value;
+        if (units < 0 || (symbolQuantities[symbolId] += units) < 0) {
+          totals.quantityOverflow = true;
+        }
+      }
+      return totals;
+    }
+  }
+
+  private static final class SymbolTotals {
+
+    final long[] symbolValues;
+    final long[] symbolQuantities;
+    boolean valueOverflow;
+    boolean quantityOverflow;
+
+    SymbolTotals(int symbolCount) {
+      this.symbolValues = new long[symbolCount];
+      this.symbolQuantities = new long[symbolCount];
+    }
+
+    SymbolTotals merge(SymbolTotals other) {
+      valueOverflow |= other.valueOverflow;
+      quantityOverflow |= other.quantityOverflow;
+      for (int symbolId = 0; symbolId < symbolValues.length && !valueOverflow; symbolId++) {
+        if ((symbolValues[symbolId] += other.symbolValues[symbolId]) < 0) {
+          valueOverflow = true;
+        }
+        if ((symbolQuantities[symbolId] += other.symbolQuantities[symbolId]) < 0) {
+          quantityOverflow = true;
+        }
+      }
+      return this;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.crypto.wallet.infrastructure.adapter.out.postgres;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Upserts refreshed prices into {@code symbol_prices}, one row per symbol regardless of how many wallets hold it. Up to
+ * {@link #COPY_THRESHOLD} prices are bound as two arrays to an upsert of fixed shape, so the server can reuse its prepared plan
+ * and the bind-parameter count never grows. Larger refreshes are streamed with {@code COPY} into a session-local staging table
+ * and applied with a single upsert.
+ */
+class BulkPriceWriter {
+
+  static final int COPY_THRESHOLD = 5_000;
+
+  private static final String UNNEST_UPSERT = """
+      INSERT INTO symbol_prices (symbol_id, price, updated_at)
+      SELECT new_values.symbol_id, new_values.price, ?
+      FROM unnest(?::integer[], ?::numeric[]) AS new_values(symbol_id, price)
+      ON CONFLICT (symbol_id)
+      DO UPDATE SET
+          price = EXCLUDED.price,
+          updated_at = EXCLUDED.updated_at
+      """;
+
+  private static final String CREATE_STAGING_TABLE = """
+      CREATE TEMP TABLE IF NOT EXISTS price_staging (
+        symbol_id INTEGER NOT NULL,
+        price NUMERIC NOT NULL
+      ) ON COMMIT DELETE ROWS
+      """;
+
+  private static final String COPY_INTO_STAGING = "COPY price_staging (symbol_id, price) FROM STDIN (FORMAT csv)";
+
+  private static final String STAGED_UPSERT = """
+      INSERT INTO symbol_prices (symbol_id, price, updated_at)
+      SELECT symbol_id, price, ?
+      FROM price_staging
+      ON CONFLICT (symbol_id)
+      DO UPDATE SET
+          price = EXCLUDED.price,
+          updated_at = EXCLUDED.updated_at
+      """;
+
+  private final JdbcClient jdbcClient;
+  private final DataSource dataSource;
+  private final SymbolDictionary symbolDictionary;
+
+  BulkPriceWriter(JdbcClient jdbcClient, DataSource dataSource, SymbolDictionary symbolDictionary) {
+    this.jdbcClient = jdbcClient;
+    this.dataSource = dataSource;
+    this.symbolDictionary = symbolDictionary;
+  }
+
+  /**
+   * Must run inside a transaction: the staging table is cleared on commit.
+   *
+   * @return the number of symbols written
+   */
+  int write(Map<Symbol, Price> symbolPrices, OffsetDateTime updatedAt) {
+    if (symbolPrices.isEmpty()) {
+      return 0;
+    }
+    return symbolPrices.size() < COPY_THRESHOLD ? writeWithUnnest(symbolPrices, updatedAt) : writeWithCopy(symbolPrices, updatedAt);
+  }
+
+  int writeWithUnnest(Map<Symbol, Price> symbolPrices, OffsetDateTime updatedAt) {
+    var ids = symbolDictionary.idsOf(symbolPrices.keySet());
+    var symbolIds = new int[symbolPrices.size()];
+    var prices = new String[symbolPrices.size()];
+    var i = 0;
+    for (var entry : symbolPrices.entrySet()) {
+      symbolIds[i] = ids.get(entry.getKey());
+      prices[i] = entry.getValue().value().toPlainString();
+      i++;
+    }
+    return jdbcClient.sql(UNNEST_UPSERT).param(updatedAt).param(symbolIds).param(prices).update();
+  }
+
+  int writeWithCopy(Map<Symbol, Price> symbolPrices, OffsetDateTime updatedAt) {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      throw new IllegalStateException("COPY price writes require an active transaction");
+    }
+
+    // Ids are integers and prices are plain decimals, so no CSV quoting is needed.
+    var ids = symbolDictionary.idsOf(symbolPrices.keySet());
+    var csv = new StringBuilder(symbolPrices.size() * 24);
+    symbolPrices.forEach((symbol, price) -> csv.append(ids.get(symbol)).append(',').append(price.value().toPlainString()).append('\n'));
+
+    jdbcClient.sql(CREATE_STAGING_TABLE).update();
+    var connection = DataSourceUtils.getConnection(dataSource);
+    try {
+      connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING, new StringReader(csv.toString()));
+    } catch (SQLException | IOException e) {
+      throw new IllegalStateException("Failed to stage " + symbolPrices.size() + " prices", e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+    return jdbcClient.sql(STAGED_UPSERT).param(updatedAt).update();
+  }
+}
@@ -2,180 +2,385 @@ package com.crypto.wallet.infrastructure.adapter.out.postgres;
 
 import com.crypto.wallet.application.port.out.AssetRepository;
 import com.crypto.wallet.application.model.Asset;
-import com.crypto.wallet.application.model.User;
+import com.crypto.wallet.application.model.HoldingEvent;
+import com.crypto.wallet.application.model.SymbolPrice;
 import com.crypto.wallet.application.model.Wallet;
+import com.crypto.wallet.application.model.WalletCursor;
+import com.crypto.wallet.application.model.WalletPage;
+import com.crypto.wallet.application.model.WalletPageQuery;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Quantity;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import com.crypto.wallet.application.model.primitives.WalletId;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Every write publishes the resulting {@link HoldingEvent} inside its transaction, so listeners bound to the commit only see
+ * changes that were actually stored.
+ */
 @Repository
 public class JdbcAssetRepository implements AssetRepository {
 
+  private static final int STREAM_FETCH_SIZE = 500;
+  private static final Duration TRACKED_SYMBOLS_MAX_AGE = Duration.ofSeconds(5);
+  // Rows come back in symbol id order; assets are still listed alphabetically, as before the dictionary existed.
+  private static final Comparator<Asset> BY_SYMBOL = Comparator.comparing(asset -> asset.symbol().value());
+
   private final JdbcClient jdbcClient;
+  private final SymbolDictionary symbolDictionary;
+  private final BulkPriceWriter bulkPriceWriter;
+  private final TrackedSymbols trackedSymbols;
+  private final JdbcTemplate streamingJdbcTemplate;
+  private final ApplicationEventPublisher eventPublisher;
 
-  public JdbcAssetRepository(JdbcClient jdbcClient) {
+  public JdbcAssetRepository(JdbcClient jdbcClient, DataSource dataSource, SymbolDictionary symbolDictionary,
+      ApplicationEventPublisher eventPublisher) {
     this.jdbcClient = jdbcClient;
+    this.symbolDictionary = symbolDictionary;
+    this.eventPublisher = eventPublisher;
+    this.bulkPriceWriter = new BulkPriceWriter(jdbcClient, dataSource, symbolDictionary);
+    this.trackedSymbols = new TrackedSymbols(jdbcClient, symbolDictionary, Clock.systemUTC(), TRACKED_SYMBOLS_MAX_AGE);
+    this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+    this.streamingJdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
   }
 
   @Override
   @Transactional
   public void save(Asset asset) {
     jdbcClient.sql("""
-            INSERT INTO assets (wallet_id, symbol, quantity, price, updated_at) 
+            INSERT INTO assets (wallet_id, symbol_id, quantity, price, updated_at) 
             VALUES (?, ?, ?, ?, ?)
-            ON CONFLICT (wallet_id, symbol) 
+            ON CONFLICT (wallet_id, symbol_id) 
             DO UPDATE SET 
                 quantity = EXCLUDED.quantity,
                 price = EXCLUDED.price,
                 updated_at = EXCLUDED.updated_at
             """)
         .param(asset.walletId().value())
-        .param(asset.symbol().value())
+        .param(symbolDictionary.idOf(asset.symbol()))
         .param(asset.quantity().value())
         .param(asset.price().value())
         .param(asset.updatedAt())
         .update();
+    trackedSymbols.invalidateOnCommit();
+    eventPublisher.publishEvent(new HoldingEvent.Changed(asset.walletId(), asset.symbol(), asset.quantity(), asset.price()));
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<Asset> findByWalletId(WalletId walletId) {
     return jdbcClient.sql("""
-        SELECT wallet_id, symbol, quantity, price, updated_at 
-        FROM assets 
-        WHERE wallet_id = ?
-        ORDER BY symbol
-        """).param(walletId.value()).query(this::mapAsset).list();
+        SELECT a.wallet_id, a.symbol_id, a.quantity,
+               COALESCE(sp.price, a.price) AS price,
+               GREATEST(a.updated_at, sp.updated_at) AS updated_at
+        FROM assets a
+        LEFT JOIN symbol_prices sp ON sp.symbol_id = a.symbol_id
+        WHERE a.wallet_id = ?
+        """).param(walletId.value()).query(this::mapAsset).stream().sorted(BY_SYMBOL).toList();
   }
 
   @Override
   @Transactional(readOnly = true)
   public Optional<Asset> findByWalletIdAndSymbol(WalletId walletId, Symbol symbol) {
+    var symbolId = symbolDictionary.find(symbol);
+    if (symbolId.isEmpty()) {
+      return Optional.empty();
+    }
     return jdbcClient.sql("""
-        SELECT wallet_id, symbol, quantity, price, updated_at 
-        FROM assets 
-        WHERE wallet_id = ? AND symbol = ?
-        """).param(walletId.value()).param(symbol.value()).query(this::mapAsset).optional();
+        SELECT a.wallet_id, a.symbol_id, a.quantity,
+               COALESCE(sp.price, a.price) AS price,
+               GREATEST(a.updated_at, sp.updated_at) AS updated_at
+        FROM assets a
+        LEFT JOIN symbol_prices sp ON sp.symbol_id = a.symbol_id
+        WHERE a.wallet_id = ? AND a.symbol_id = ?
+        """).param(walletId.value()).param(symbolId.getAsInt()).query(this::mapAsset).optional();
   }
 
   @Override
   @Transactional(readOnly = true)
   public Set<Symbol> findAllUniqueSymbols() {
-    return jdbcClient.sql("""
-        SELECT DISTINCT symbol 
-        FROM assets
-        """).query(String.class).set().stream().map(Symbol::of).collect(Collectors.toSet());
+    return trackedSymbols.holderCounts().keySet();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Symbol, Integer> countHoldersBySymbol() {
+    return trackedSymbols.holderCounts();
   }
 
   @Override
   @Transactional
   public void updatePricesForSymbols(Map<Symbol, Price> symbolPrices) {
-    if (symbolPrices.isEmpty()) {
-      return;
-    }
-
-    OffsetDateTime now = OffsetDateTime.now();
-
-    StringBuilder valuesClause = new StringBuilder();
-    List<Object> params = new ArrayList<>();
-
-    boolean first = true;
-    for (Map.Entry<Symbol, Price> entry : symbolPrices.entrySet()) {
-      if (!first) {
-        valuesClause.append(", ");
-      }
-      valuesClause.append("(?, ?, ?)");
-      params.add(entry.getKey().value());
-      params.add(entry.getValue().value());
-      params.add(now);
-      first = false;
-    }
+    bulkPriceWriter.write(symbolPrices, OffsetDateTime.now());
+    eventPublisher.publishEvent(new HoldingEvent.PricesChanged(symbolPrices));
+  }
 
-    String sql = """
-        UPDATE assets
-        SET price = new_values.price, updated_at = new_values.updated_at
-        FROM (VALUES %s) AS new_values(symbol, price, updated_at)
-        WHERE assets.symbol = new_values.symbol
-        """.formatted(valuesClause.toString());
+  @Override
+  @Transactional(readOnly = true)
+  public List<SymbolPrice> findLatestPrices() {
+    return jdbcClient.sql("SELECT symbol_id, price, updated_at FROM symbol_prices").query(this::mapSymbolPrice).list();
+  }
 
-    jdbcClient.sql(sql).params(params.toArray()).update();
+  @Override
+  @Transactional(readOnly = true)
+  public List<SymbolPrice> findPricesUpdatedSince(OffsetDateTime since) {
+    return jdbcClient.sql("SELECT symbol_id, price, updated_at FROM symbol_prices WHERE updated_at > ?")
+        .param(since)
+        .query(this::mapSymbolPrice)
+        .list();
   }
 
+  /**
+   * Several round trips in one transaction: two for a symbol this instance already knows, up to five for a symbol seen for
+   * the first time. The owner row is locked first, in a statement of its own. Under READ COMMITTED a statement keeps the
+   * snapshot it started with, so only a later statement is guaranteed to see every earlier add to the wallet, and concurrent
+   * adds of different new symbols cannot overshoot the cap. A new symbol is looked up, and only registered by
+   * {@link SymbolDictionary#idOf} once a count shows the wallet has room for it. The last statement checks the cap, merges
+   * and re-reads the wallet's assets; the creation time comes from the locked row. The weighted average is taken over the
+   * purchase prices kept on {@code assets}, mirrors {@code WalletDomainService.mergeAssetQuantities}, and is computed against
+   * the latest committed row by {@code ON CONFLICT DO UPDATE}, so concurrent adds of the same symbol cannot lose updates. The
+   * returned assets are valued at the current {@code symbol_prices} price like every other read.
+   */
   @Override
   @Transactional
-  public Wallet saveAssetAndReturnWallet(WalletId walletId, Asset assetToSave, User walletOwner) {
-    save(assetToSave);
-    List<Asset> allAssets = findByWalletId(walletId);
-    return Wallet.of(walletId, allAssets, walletOwner.createdAt());
+  public Optional<Wallet> mergeAsset(WalletId walletId, Symbol symbol, Quantity quantity, Price price, int maxAssets) {
+    var createdAt = jdbcClient.sql("SELECT created_at FROM users WHERE wallet_id = ? FOR UPDATE")
+        .param(walletId.value())
+        .query(OffsetDateTime.class)
+        .optional();
+    if (createdAt.isEmpty()) {
+      return Optional.empty();
+    }
+    var knownId = symbolDictionary.find(symbol);
+    if (knownId.isEmpty() && countAssets(walletId) >= maxAssets) {
+      return Optional.of(Wallet.ofTrusted(walletId, findByWalletId(walletId), createdAt.get()));
+    }
+    var symbolId = knownId.isPresent() ? knownId.getAsInt() : symbolDictionary.idOf(symbol);
+    var assets = jdbcClient.sql("""
+            WITH merged AS (
+                INSERT INTO assets AS a (wallet_id, symbol_id, quantity, price, updated_at)
+                SELECT :walletId, :symbolId, :quantity, :price, :updatedAt
+                WHERE (SELECT COUNT(*) FROM assets WHERE wallet_id = :walletId) < :maxAssets
+                   OR EXISTS (SELECT 1 FROM assets WHERE wallet_id = :walletId AND symbol_id = :symbolId)
+                ON CONFLICT (wallet_id, symbol_id)
+                DO UPDATE SET
+                    quantity = a.quantity + EXCLUDED.quantity,
+                    price = ROUND((ROUND(a.quantity * a.price, 6) + EXCLUDED.quantity * EXCLUDED.price)
+                                  / (a.quantity + EXCLUDED.quantity), 6),
+                    updated_at = EXCLUDED.updated_at
+                RETURNING wallet_id, symbol_id, quantity, price, updated_at
+            )
+            SELECT held.wallet_id, held.symbol_id, held.quantity,
+                   COALESCE(sp.price, held.price) AS price,
+                   GREATEST(held.updated_at, sp.updated_at) AS updated_at
+            FROM (
+                SELECT wallet_id, symbol_id, quantity, price, updated_at FROM merged
+                UNION ALL
+                SELECT wallet_id, symbol_id, quantity, price, updated_at
+                FROM assets
+                WHERE wallet_id = :walletId AND symbol_id <> :symbolId
+            ) held
+            LEFT JOIN symbol_prices sp ON sp.symbol_id = held.symbol_id
+            """)
+        .param("walletId", walletId.value())
+        .param("symbolId", symbolId)
+        .param("quantity", quantity.value())
+        .param("price", price.value())
+        .param("updatedAt", OffsetDateTime.now())
+        .param("maxAssets", maxAssets)
+        .query(this::mapAsset)
+        .stream()
+        .sorted(BY_SYMBOL)
+        .toList();
+
+    var wallet = Wallet.ofTrusted(walletId, assets, createdAt.get());
+    wallet.findAssetBySymbol(symbol).ifPresent(merged -> {
+      trackedSymbols.invalidateOnCommit();
+      eventPublisher.publishEvent(new HoldingEvent.Changed(walletId, symbol, merged.quantity(), merged.price()));
+    });
+    return Optional.of(wallet);
   }
 
   @Override
   @Transactional
   public void delete(WalletId walletId, Symbol symbol) {
-    jdbcClient.sql("""
-        DELETE FROM assets
-        WHERE wallet_id = ? AND symbol = ?
-        """).param(walletId.value()).param(symbol.value()).update();
+    symbolDictionary.find(symbol).ifPresent(symbolId -> {
+      var deleted = jdbcClient.sql("""
+          DELETE FROM assets
+          WHERE wallet_id = ? AND symbol_id = ?
+          """).param(walletId.value()).param(symbolId).update();
+      if (deleted > 0) {
+        trackedSymbols.invalidateOnCommit();
+        eventPublisher.publishEvent(new HoldingEvent.Removed(walletId, symbol));
+      }
+    });
   }
 
+  /**
+   * Selects one page of wallets (plus one to detect a following page) by keyset on {@code (created_at, wallet_id)}, then joins
+   * only their assets, so memory use is bounded by the page size. Only the filters that are present are added to the
+   * statement, which keeps each shape index-friendly instead of relying on {@code :param IS NULL} guards. No index can answer
+   * the minimum-total filter, so the query only accepts it alongside the holding filter: the totals summed are bounded by the
+   * holders of one symbol, found through {@code idx_assets_symbol_id}.
+   */
   @Override
   @Transactional(readOnly = true)
-  public List<Wallet> findAllWalletsWithAssets() {
-    Map<WalletId, WalletData> walletMap = new LinkedHashMap<>();
+  public WalletPage findWallets(WalletPageQuery query) {
+    var holdingId = query.holdingSymbol().map(symbolDictionary::find);
+    if (holdingId.isPresent() && holdingId.get().isEmpty()) {
+      return WalletPage.of(List.of(), null);
+    }
+
+    var conditions = new ArrayList<String>();
+    var params = new LinkedHashMap<String, Object>();
+    query.afterCursor().ifPresent(cursor -> {
+      conditions.add("(u.created_at, u.wallet_id) < (:afterCreatedAt, :afterWalletId)");
+      params.put("afterCreatedAt", cursor.createdAt());
+      params.put("afterWalletId", cursor.walletId().value());
+    });
+    // Holding a symbol drives the page from that symbol's holders; a wallet holds each symbol at most once.
+    var from = "users u";
+    if (holdingId.isPresent()) {
+      from = "assets h JOIN users u ON u.wallet_id = h.wallet_id";
+      conditions.add("h.symbol_id = :holding");
+      params.put("holding", holdingId.get().getAsInt());
+    }
+    query.minimumTotal().ifPresent(minTotal -> {
+      conditions.add("""
+          (SELECT COALESCE(SUM(ROUND(t.quantity * COALESCE(tp.price, t.price), 6)), 0)
+           FROM assets t
+           LEFT JOIN symbol_prices tp ON tp.symbol_id = t.symbol_id
+           WHERE t.wallet_id = u.wallet_id) >= :minTotal""");
+      params.put("minTotal", minTotal.value());
+    });
+    params.put("pageSize", query.limit() + 1);
 
+    var where = conditions.isEmpty() ? "" : "WHERE " + String.join("\n  AND ", conditions);
+    Map<WalletId, WalletData> walletMap = new LinkedHashMap<>();
     jdbcClient.sql("""
-        SELECT u.email, u.wallet_id, u.created_at,
-               a.symbol, a.quantity, a.price, a.updated_at
-        FROM users u
-        LEFT JOIN assets a ON u.wallet_id = a.wallet_id
-        ORDER BY u.created_at DESC, a.symbol
-        """).query((rs, rowNum) -> {
+            WITH page AS (
+                SELECT u.wallet_id, u.created_at
+                FROM %s
+                %s
+                ORDER BY u.created_at DESC, u.wallet_id DESC
+                LIMIT :pageSize
+            )
+            SELECT page.wallet_id, page.created_at,
+                   a.symbol_id, a.quantity,
+                   COALESCE(sp.price, a.price) AS price,
+                   GREATEST(a.updated_at, sp.updated_at) AS updated_at
+            FROM page
+            LEFT JOIN assets a ON a.wallet_id = page.wallet_id
+            LEFT JOIN symbol_prices sp ON sp.symbol_id = a.symbol_id
+            ORDER BY page.created_at DESC, page.wallet_id DESC
+            """.formatted(from, where))
+        .params(params)
+        .query(rs -> {
           processRow(rs, walletMap);
-          return null;
-        }).list();
+        });
 
-    return walletMap.values().stream()
-        .map(data -> Wallet.of(data.walletId(), data.assets(), data.createdAt()))
+    var wallets = walletMap.values().stream()
+        .limit(query.limit())
+        .map(WalletData::toWallet)
         .toList();
+    var next = walletMap.size() > query.limit() ? WalletCursor.after(wallets.get(wallets.size() - 1)) : null;
+    return WalletPage.of(wallets, next);
+  }
+
+  /**
+   * Streams every wallet through a server-side cursor: rows are fetched {@value #STREAM_FETCH_SIZE} at a time and consecutive
+   * rows of the same wallet are grouped as they arrive, so only one wallet is held in memory. The read-only transaction keeps
+   * the cursor open (Postgres only honours the fetch size outside auto-commit) until the consumer has seen the last wallet.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void streamAllWallets(Consumer<Wallet> consumer) {
+    var current = new WalletData[1];
+    streamingJdbcTemplate.query("""
+        SELECT u.wallet_id, u.created_at,
+               a.symbol_id, a.quantity,
+               COALESCE(sp.price, a.price) AS price,
+               GREATEST(a.updated_at, sp.updated_at) AS updated_at
+        FROM users u
+        LEFT JOIN assets a ON u.wallet_id = a.wallet_id
+        LEFT JOIN symbol_prices sp ON sp.symbol_id = a.symbol_id
+        ORDER BY u.created_at DESC, u.wallet_id DESC
+        """, rs -> {
+      var walletId = WalletId.of(rs.getObject("wallet_id", UUID.class));
+      if (current[0] != null && !current[0].walletId().equals(walletId)) {
+        consumer.accept(current[0].toWallet());
+        current[0] = null;
+      }
+      if (current[0] == null) {
+        current[0] = new WalletData(walletId, rs.getObject("created_at", OffsetDateTime.class), new ArrayList<>());
+      }
+      mapHeldAsset(rs, walletId).ifPresent(current[0].assets()::add);
+    });
+    if (current[0] != null) {
+      consumer.accept(current[0].toWallet());
+    }
+  }
+
+  private int countAssets(WalletId walletId) {
+    return jdbcClient.sql("SELECT COUNT(*) FROM assets WHERE wallet_id = ?").param(walletId.value()).query(Integer.class).single();
   }
 
   private void processRow(ResultSet rs, Map<WalletId, WalletData> walletMap) throws SQLException {
-    WalletId walletId = WalletId.of(rs.getString("wallet_id"));
+    WalletId walletId = WalletId.of(rs.getObject("wallet_id", UUID.class));
     OffsetDateTime createdAt = rs.getObject("created_at", OffsetDateTime.class);
 
-    walletMap.computeIfAbsent(walletId, k -> new WalletData(walletId, createdAt, new ArrayList<>()));
-
-    String symbol = rs.getString("symbol");
-    if (symbol != null) {
-      Asset asset = Asset.of(
-          walletId,
-          Symbol.of(symbol),
-          Quantity.of(rs.getBigDecimal("quantity")),
-          Price.of(rs.getBigDecimal("price")),
-          rs.getObject("updated_at", OffsetDateTime.class)
-      );
-      walletMap.get(walletId).assets().add(asset);
+    var walletData = walletMap.computeIfAbsent(walletId, k -> new WalletData(walletId, createdAt, new ArrayList<>()));
+    mapHeldAsset(rs, walletId).ifPresent(walletData.assets()::add);
+  }
+
+  private Optional<Asset> mapHeldAsset(ResultSet rs, WalletId walletId) throws SQLException {
+    int symbolId = rs.getInt("symbol_id");
+    if (rs.wasNull()) {
+      return Optional.empty();
     }
+    return Optional.of(Asset.of(
+        walletId,
+        symbolDictionary.symbolOf(symbolId),
+        Quantity.of(rs.getBigDecimal("quantity")),
+        Price.of(rs.getBigDecimal("price")),
+        rs.getObject("updated_at", OffsetDateTime.class)
+    ));
+  }
+
+  private SymbolPrice mapSymbolPrice(ResultSet rs, int rowNum) throws SQLException {
+    return new SymbolPrice(symbolDictionary.symbolOf(rs.getInt("symbol_id")), Price.of(rs.getBigDecimal("price")),
+        rs.getObject("updated_at", OffsetDateTime.class));
   }
 
   private Asset mapAsset(ResultSet rs, int rowNum) throws SQLException {
-    return Asset.of(WalletId.of(rs.getString("wallet_id")), Symbol.of(rs.getString("symbol")), Quantity.of(rs.getBigDecimal("quantity")),
-        Price.of(rs.getBigDecimal("price")), rs.getObject("updated_at", OffsetDateTime.class));
+    return Asset.of(WalletId.of(rs.getObject("wallet_id", UUID.class)), symbolDictionary.symbolOf(rs.getInt("symbol_id")),
+        Quantity.of(rs.getBigDecimal("quantity")), Price.of(rs.getBigDecimal("price")), rs.getObject("updated_at", OffsetDateTime.class));
   }
 
-  private record WalletData(WalletId walletId, OffsetDateTime createdAt, List<Asset> assets) {}
+  private record WalletData(WalletId walletId, OffsetDateTime createdAt, List<Asset> assets) {
+
+    Wallet toWallet() {
+      assets.sort(BY_SYMBOL);
+      return Wallet.ofTrusted(walletId, assets, createdAt);
+    }
+  }
 }
@@ -13,6 +13,7 @@ import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public class JdbcUserRepository implements UserRepository {
@@ -36,6 +37,23 @@ public class JdbcUserRepository implements UserRepository {
             .update();
     }
     
+    @Override
+    @Transactional
+    public boolean saveIfEmailAbsent(User user) {
+        return jdbcClient.sql("""
+            INSERT INTO users (email, wallet_id, created_at)
+            VALUES (?, ?, ?)
+            ON CONFLICT (email) DO NOTHING
+            RETURNING wallet_id
+            """)
+            .param(user.email().value())
+            .param(user.walletId().value())
+            .param(user.createdAt())
+            .query(String.class)
+            .optional()
+            .isPresent();
+    }
+    
     @Override
     @Transactional(readOnly = true)  
     public Optional<User> findByEmail(Email email) {
@@ -92,7 +110,7 @@ public class JdbcUserRepository implements UserRepository {
     private User mapUser(ResultSet rs, int rowNum) throws SQLException {
         return User.of(
             Email.of(rs.getString("email")),
-            WalletId.of(rs.getString("wallet_id")),
+            WalletId.of(rs.getObject("wallet_id", UUID.class)),
             rs.getObject("created_at", OffsetDateTime.class)
         );
     }
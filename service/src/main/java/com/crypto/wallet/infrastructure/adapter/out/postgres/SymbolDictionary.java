@@ -0,0 +1,162 @@
+package com.crypto.wallet.infrastructure.adapter.out.postgres;
+
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Process-wide two-way mapping between symbols and the integer ids of the {@code symbols} table, so that {@code assets} and
+ * {@code symbol_prices} are keyed and joined on ints. The mapping is loaded when the application is ready and only ever grows:
+ * ids are never reused, so a cached entry cannot go stale. Symbols first seen by another instance are picked up on a miss.
+ * New symbols are stored in the caller's transaction, so registering one never needs a second pooled connection and an add
+ * that rolls back leaves nothing behind. Entries read inside a read-write transaction, which may be rows it inserted itself,
+ * are only cached once it commits.
+ */
+public class SymbolDictionary {
+
+  private static final Logger logger = LoggerFactory.getLogger(SymbolDictionary.class);
+
+  private final JdbcClient jdbcClient;
+
+  private final ConcurrentHashMap<Symbol, Integer> idsBySymbol = new ConcurrentHashMap<>();
+  private volatile Symbol[] symbolsById = new Symbol[0];
+
+  public SymbolDictionary(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    var entries = readAll();
+    remember(entries);
+    logger.info("Loaded {} symbols into the symbol dictionary", entries.size());
+  }
+
+  /**
+   * Returns the id of a symbol that is already stored, without registering it.
+   */
+  public OptionalInt find(Symbol symbol) {
+    var id = idsBySymbol.get(symbol);
+    if (id == null) {
+      id = jdbcClient.sql("SELECT symbol_id FROM symbols WHERE symbol = ?")
+          .param(symbol.value())
+          .query(Integer.class)
+          .optional()
+          .orElse(null);
+      if (id == null) {
+        return OptionalInt.empty();
+      }
+      remember(List.of(Map.entry(id, symbol)));
+    }
+    return OptionalInt.of(id);
+  }
+
+  /**
+   * Returns the id of the symbol, storing it first in the caller's transaction if it has never been seen.
+   */
+  public int idOf(Symbol symbol) {
+    var id = idsBySymbol.get(symbol);
+    return id != null ? id : insert(symbol);
+  }
+
+  /**
+   * Resolves many symbols at once. Misses trigger a single reload before any symbol is inserted individually.
+   */
+  public Map<Symbol, Integer> idsOf(Collection<Symbol> symbols) {
+    var ids = new HashMap<Symbol, Integer>(symbols.size() * 2);
+    var missing = new ArrayList<Symbol>();
+    for (var symbol : symbols) {
+      var id = idsBySymbol.get(symbol);
+      if (id == null) {
+        missing.add(symbol);
+      } else {
+        ids.put(symbol, id);
+      }
+    }
+    if (!missing.isEmpty()) {
+      var entries = readAll();
+      remember(entries);
+      var stored = new HashMap<Symbol, Integer>(entries.size() * 2);
+      entries.forEach(entry -> stored.put(entry.getValue(), entry.getKey()));
+      missing.forEach(symbol -> {
+        var id = stored.get(symbol);
+        ids.put(symbol, id != null ? id : insert(symbol));
+      });
+    }
+    return ids;
+  }
+
+  public Symbol symbolOf(int id) {
+    var symbols = symbolsById;
+    var symbol = id < symbols.length ? symbols[id] : null;
+    if (symbol != null) {
+      return symbol;
+    }
+    var stored = jdbcClient.sql("SELECT symbol FROM symbols WHERE symbol_id = ?")
+        .param(id)
+        .query(String.class)
+        .optional()
+        .map(Symbol::of)
+        .orElseThrow(() -> new IllegalStateException("Unknown symbol id: " + id));
+    remember(List.of(Map.entry(id, stored)));
+    return stored;
+  }
+
+  private int insert(Symbol symbol) {
+    // DO UPDATE rather than DO NOTHING so RETURNING also yields the id when another instance registered the symbol first.
+    int id = jdbcClient.sql("""
+            INSERT INTO symbols (symbol)
+            VALUES (?)
+            ON CONFLICT (symbol) DO UPDATE SET symbol = EXCLUDED.symbol
+            RETURNING symbol_id
+            """)
+        .param(symbol.value())
+        .query(Integer.class)
+        .single();
+    remember(List.of(Map.entry(id, symbol)));
+    return id;
+  }
+
+  private List<Map.Entry<Integer, Symbol>> readAll() {
+    return jdbcClient.sql("SELECT symbol_id, symbol FROM symbols")
+        .query((rs, rowNum) -> Map.entry(rs.getInt("symbol_id"), Symbol.of(rs.getString("symbol"))))
+        .list();
+  }
+
+  private void remember(Collection<Map.Entry<Integer, Symbol>> entries) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      register(entries);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        register(entries);
+      }
+    });
+  }
+
+  private synchronized void register(Collection<Map.Entry<Integer, Symbol>> entries) {
+    var maxId = entries.stream().mapToInt(Map.Entry::getKey).max().orElse(-1);
+    var symbols = maxId < symbolsById.length ? symbolsById.clone() : Arrays.copyOf(symbolsById, maxId + 1);
+    entries.forEach(entry -> {
+      symbols[entry.getKey()] = entry.getValue();
+      idsBySymbol.put(entry.getValue(), entry.getKey());
+    });
+    symbolsById = symbols;
+  }
+}
@@ -0,0 +1,87 @@
+package com.crypto.wallet.infrastructure.adapter.out.postgres;
+
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory mirror of {@code tracked_symbols}, the holder count of every symbol, which triggers on {@code assets} keep up to
+ * date. Reading the registry costs one row per symbol instead of a pass over the holdings, and the mirror spares even that
+ * while it is younger than {@code maxAge}. Holdings changed through this instance invalidate it as soon as they commit;
+ * changes made by other instances show up once it has aged out.
+ */
+class TrackedSymbols {
+
+  private final JdbcClient jdbcClient;
+  private final SymbolDictionary symbolDictionary;
+  private final Clock clock;
+  private final Duration maxAge;
+
+  private final AtomicLong generation = new AtomicLong();
+  private volatile Snapshot snapshot;
+
+  TrackedSymbols(JdbcClient jdbcClient, SymbolDictionary symbolDictionary, Clock clock, Duration maxAge) {
+    this.jdbcClient = jdbcClient;
+    this.symbolDictionary = symbolDictionary;
+    this.clock = clock;
+    this.maxAge = maxAge;
+  }
+
+  /**
+   * The number of holders of every held symbol, as an immutable map.
+   */
+  Map<Symbol, Integer> holderCounts() {
+    var current = snapshot;
+    if (current == null || !isFresh(current)) {
+      current = reload();
+    }
+    return current.holderCounts();
+  }
+
+  /**
+   * Drops the mirror once the current transaction commits, or right away outside a transaction.
+   */
+  void invalidateOnCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      generation.incrementAndGet();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        generation.incrementAndGet();
+      }
+    });
+  }
+
+  private synchronized Snapshot reload() {
+    var current = snapshot;
+    if (current != null && isFresh(current)) {
+      return current;
+    }
+    // A snapshot read while a commit invalidates the mirror keeps the older generation, so it is not trusted afterwards.
+    var readGeneration = generation.get();
+    var loadedAt = clock.instant();
+    var holderCounts = new HashMap<Symbol, Integer>();
+    jdbcClient.sql("SELECT symbol_id, holder_count FROM tracked_symbols WHERE holder_count > 0")
+        .query(rs -> {
+          holderCounts.put(symbolDictionary.symbolOf(rs.getInt("symbol_id")), rs.getInt("holder_count"));
+        });
+    var loaded = new Snapshot(Map.copyOf(holderCounts), readGeneration, loadedAt);
+    snapshot = loaded;
+    return loaded;
+  }
+
+  private boolean isFresh(Snapshot current) {
+    return current.generation() == generation.get() && current.loadedAt().plus(maxAge).isAfter(clock.instant());
+  }
+
+  private record Snapshot(Map<Symbol, Integer> holderCounts, long generation, Instant loadedAt) {}
+}
@@ -1,23 +1,36 @@
 package com.crypto.wallet.infrastructure.config;
 
+import com.crypto.wallet.application.PortfolioWorkflow;
 import com.crypto.wallet.application.ProfitSimulationWorkflow;
 import com.crypto.wallet.application.WalletWorkflow;
+import com.crypto.wallet.application.port.in.PortfolioUseCase;
 import com.crypto.wallet.application.port.in.PriceUpdateUseCase;
 import com.crypto.wallet.application.port.in.ProfitSimulationUseCase;
 import com.crypto.wallet.application.port.in.WalletUseCase;
 import com.crypto.wallet.application.port.out.AssetRepository;
 import com.crypto.wallet.application.port.out.CryptoGateway;
+import com.crypto.wallet.application.port.out.HoldingsStore;
 import com.crypto.wallet.application.port.out.UserRepository;
 import com.crypto.wallet.application.service.DefaultPriceUpdateService;
 import com.crypto.wallet.application.service.ProfitCalculationService;
+import com.crypto.wallet.application.service.SymbolDemandTracker;
+import com.crypto.wallet.application.service.SymbolRefreshScheduler;
 import com.crypto.wallet.application.service.WalletDomainService;
+import com.crypto.wallet.infrastructure.adapter.in.cronjob.HoldingsSyncCronJob;
 import com.crypto.wallet.infrastructure.adapter.in.cronjob.PriceUpdateCronJob;
+import com.crypto.wallet.infrastructure.adapter.out.cache.CachingCryptoGateway;
+import com.crypto.wallet.infrastructure.adapter.out.cache.SymbolValidityCache;
 import com.crypto.wallet.infrastructure.adapter.out.coinmarketcap.CoinMarketCap;
+import com.crypto.wallet.infrastructure.adapter.out.memory.ColumnarHoldingsStore;
 import com.crypto.wallet.infrastructure.adapter.out.postgres.JdbcAssetRepository;
 import com.crypto.wallet.infrastructure.adapter.out.postgres.JdbcUserRepository;
+import com.crypto.wallet.infrastructure.adapter.out.postgres.SymbolDictionary;
 import com.crypto.wallet.infrastructure.config.properties.CoinCapProperties;
 import com.crypto.wallet.infrastructure.config.properties.DataSourceProperties;
 import com.crypto.wallet.infrastructure.config.properties.LiquibaseProperties;
+import com.crypto.wallet.infrastructure.config.properties.PriceCacheProperties;
+import com.crypto.wallet.infrastructure.config.properties.PriceUpdateProperties;
+import com.crypto.wallet.infrastructure.config.properties.SymbolValidityProperties;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
@@ -25,20 +38,40 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.function.ToIntFunction;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
-import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
+import net.javacrumbs.shedlock.core.DefaultLockingTaskExecutor;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.LockingTaskExecutor;
+import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -51,8 +84,8 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 @EnableTransactionManagement
 @EnableScheduling
-@EnableSchedulerLock(defaultLockAtMostFor = "10m")
-@EnableConfigurationProperties({DataSourceProperties.class, LiquibaseProperties.class, CoinCapProperties.class})
+@EnableConfigurationProperties({DataSourceProperties.class, LiquibaseProperties.class, CoinCapProperties.class,
+    PriceCacheProperties.class, SymbolValidityProperties.class, PriceUpdateProperties.class})
 public class ApplicationConfig {
 
   private ExecutorService virtualThreadExecutor;
@@ -93,14 +126,41 @@ public class ApplicationConfig {
   }
 
   @Bean
-  public AssetRepository assetRepository(JdbcClient jdbcClient) {
-    return new JdbcAssetRepository(jdbcClient);
+  public SymbolDictionary symbolDictionary(JdbcClient jdbcClient) {
+    return new SymbolDictionary(jdbcClient);
   }
 
   @Bean
-  public CryptoGateway cryptoPriceGateway(ExecutorService virtualThreadExecutor, CoinCapProperties coinCapProperties) {
+  public AssetRepository assetRepository(JdbcClient jdbcClient, DataSource dataSource, SymbolDictionary symbolDictionary,
+      ApplicationEventPublisher eventPublisher) {
+    return new JdbcAssetRepository(jdbcClient, dataSource, symbolDictionary, eventPublisher);
+  }
+
+  @Bean
+  public ColumnarHoldingsStore holdingsStore(AssetRepository assetRepository, MeterRegistry meterRegistry) {
+    var holdingsStore = new ColumnarHoldingsStore(assetRepository, meterRegistry);
+    holdingsStore.registerGauges(meterRegistry);
+    return holdingsStore;
+  }
+
+  @Bean
+  public CryptoGateway cryptoPriceGateway(ExecutorService virtualThreadExecutor, CloseableHttpClient coinCapHttpClient,
+      CoinCapProperties coinCapProperties, PriceCacheProperties priceCacheProperties,
+      SymbolValidityProperties symbolValidityProperties, MeterRegistry meterRegistry) {
+    var coinMarketCap = coinMarketCap(virtualThreadExecutor, coinCapHttpClient, coinCapProperties, meterRegistry);
+    var priceCache = new CachingCryptoGateway(coinMarketCap, virtualThreadExecutor, priceCacheProperties.ttl(),
+        priceCacheProperties.maxStale(), priceCacheProperties.maxSize(), meterRegistry, Clock.systemUTC());
+    priceCache.registerGauges(meterRegistry);
+    return new SymbolValidityCache(priceCache, symbolValidityProperties.negativeTtl(),
+        symbolValidityProperties.maxNegativeEntries(), symbolValidityProperties.falsePositiveRate(), meterRegistry,
+        Clock.systemUTC());
+  }
+
+  private CoinMarketCap coinMarketCap(ExecutorService virtualThreadExecutor, CloseableHttpClient coinCapHttpClient,
+      CoinCapProperties coinCapProperties, MeterRegistry meterRegistry) {
     String apiKey = coinCapProperties.key();
     RestClient.Builder restClientBuilder = RestClient.builder()
+        .requestFactory(new HttpComponentsClientHttpRequestFactory(coinCapHttpClient))
         .baseUrl(coinCapProperties.baseUrl())
         .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
         .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
@@ -113,7 +173,57 @@ public class ApplicationConfig {
     }
 
     RestClient restClient = restClientBuilder.build();
-    return new CoinMarketCap(restClient, virtualThreadExecutor);
+    return new CoinMarketCap(restClient, virtualThreadExecutor, coinCapProperties.maxConcurrentRequests(),
+        coinCapProperties.requestsPerSecond(), coinCapProperties.batchSize(), meterRegistry);
+  }
+
+  /**
+   * Pooled keep-alive transport for CoinCap. Connections are reused across requests so TLS handshakes are paid once per
+   * connection rather than per price fetch. The pool uses lock-based (not synchronized) leasing, and waiting for a connection
+   * is bounded by the connection request timeout, so blocked virtual threads never wait indefinitely.
+   */
+  @Bean
+  public CloseableHttpClient coinCapHttpClient(CoinCapProperties coinCapProperties, MeterRegistry meterRegistry) {
+    var http = coinCapProperties.http();
+    if (http.maxConnectionsPerRoute() < coinCapProperties.maxConcurrentRequests()) {
+      logger.warn("CoinCap connection pool allows {} connections per route but up to {} concurrent requests; requests will queue",
+          http.maxConnectionsPerRoute(), coinCapProperties.maxConcurrentRequests());
+    }
+
+    PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+        .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+        .setMaxConnTotal(http.maxConnections())
+        .setMaxConnPerRoute(http.maxConnectionsPerRoute())
+        .setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(http.connectTimeout()))
+            .setSocketTimeout(Timeout.of(http.readTimeout()))
+            .setValidateAfterInactivity(TimeValue.of(http.keepAlive()))
+            .build())
+        .build();
+
+    registerPoolGauge(meterRegistry, connectionManager, "leased", PoolStats::getLeased);
+    registerPoolGauge(meterRegistry, connectionManager, "pending", PoolStats::getPending);
+    registerPoolGauge(meterRegistry, connectionManager, "available", PoolStats::getAvailable);
+    registerPoolGauge(meterRegistry, connectionManager, "max", PoolStats::getMax);
+
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.of(http.connectionRequestTimeout()))
+            .setResponseTimeout(Timeout.of(http.responseTimeout()))
+            .setConnectionKeepAlive(TimeValue.of(http.keepAlive()))
+            .build())
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.of(http.keepAlive()))
+        .build();
+  }
+
+  private void registerPoolGauge(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager, String state,
+      ToIntFunction<PoolStats> statistic) {
+    Gauge.builder("coincap.http.pool.connections", connectionManager, manager -> statistic.applyAsInt(manager.getTotalStats()))
+        .description("CoinCap HTTP connection pool connections by state")
+        .tag("state", state)
+        .register(meterRegistry);
   }
 
   @Bean
@@ -126,26 +236,73 @@ public class ApplicationConfig {
     return new ProfitCalculationService();
   }
 
+  @Bean
+  public SymbolDemandTracker symbolDemandTracker(PriceUpdateProperties priceUpdateProperties) {
+    return new SymbolDemandTracker(priceUpdateProperties.demandHalfLife(), Clock.systemUTC());
+  }
+
+  @Bean
+  public SymbolRefreshScheduler symbolRefreshScheduler(SymbolDemandTracker symbolDemandTracker,
+      PriceUpdateProperties priceUpdateProperties) {
+    return new SymbolRefreshScheduler(symbolDemandTracker, priceUpdateProperties.hotInterval(),
+        priceUpdateProperties.warmInterval(), priceUpdateProperties.coldInterval(), priceUpdateProperties.budgetPerMinute());
+  }
+
   @Bean
   public WalletUseCase walletUseCase(UserRepository userRepository, AssetRepository assetRepository, CryptoGateway cryptoGateway,
-      WalletDomainService walletDomainService) {
-    return new WalletWorkflow(userRepository, assetRepository, cryptoGateway, walletDomainService);
+      WalletDomainService walletDomainService, SymbolDemandTracker symbolDemandTracker) {
+    return new WalletWorkflow(userRepository, assetRepository, cryptoGateway, walletDomainService, symbolDemandTracker);
   }
 
   @Bean
-  public ProfitSimulationUseCase profitSimulationUseCase(CryptoGateway cryptoGateway, ProfitCalculationService profitCalculationService) {
-    return new ProfitSimulationWorkflow(cryptoGateway, profitCalculationService);
+  public ProfitSimulationUseCase profitSimulationUseCase(CryptoGateway cryptoGateway, ProfitCalculationService profitCalculationService,
+      SymbolDemandTracker symbolDemandTracker) {
+    return new ProfitSimulationWorkflow(cryptoGateway, profitCalculationService, symbolDemandTracker);
   }
 
   @Bean
-  public PriceUpdateUseCase priceUpdateUseCase(AssetRepository assetRepository, CryptoGateway cryptoGateway) {
-    return new DefaultPriceUpdateService(assetRepository, cryptoGateway);
+  public PortfolioUseCase portfolioUseCase(HoldingsStore holdingsStore) {
+    return new PortfolioWorkflow(holdingsStore);
+  }
+
+  @Bean
+  public PriceUpdateUseCase priceUpdateUseCase(AssetRepository assetRepository, CryptoGateway cryptoGateway,
+      SymbolRefreshScheduler symbolRefreshScheduler, ExecutorService virtualThreadExecutor,
+      PriceUpdateProperties priceUpdateProperties) {
+    return new DefaultPriceUpdateService(assetRepository, cryptoGateway, symbolRefreshScheduler, virtualThreadExecutor,
+        priceUpdateProperties.epsilon(),
+        priceUpdateProperties.maxAge(), priceUpdateProperties.writeChunkSize(), priceUpdateProperties.writeInterval(),
+        Clock.systemUTC());
   }
 
   @Bean
   @ConditionalOnProperty(name = "price.update.enabled", havingValue = "true", matchIfMissing = true)
-  public PriceUpdateCronJob priceUpdateCronJob(PriceUpdateUseCase priceUpdateUseCase) {
-    return new PriceUpdateCronJob(priceUpdateUseCase);
+  public PriceUpdateCronJob priceUpdateCronJob(PriceUpdateUseCase priceUpdateUseCase, LockingTaskExecutor lockingTaskExecutor,
+      ExecutorService virtualThreadExecutor, PriceUpdateProperties priceUpdateProperties, MeterRegistry meterRegistry) {
+    return new PriceUpdateCronJob(priceUpdateUseCase, lockingTaskExecutor, virtualThreadExecutor, priceUpdateProperties.shards(),
+        priceUpdateProperties.parallelShards(), meterRegistry, Clock.systemUTC());
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "holdings.sync.enabled", havingValue = "true", matchIfMissing = true)
+  public HoldingsSyncCronJob holdingsSyncCronJob(ColumnarHoldingsStore holdingsStore) {
+    return new HoldingsSyncCronJob(holdingsStore);
+  }
+
+  /**
+   * Locks live in the {@code shedlock} table and are timed by the database clock, so instance clock skew cannot overlap them.
+   */
+  @Bean
+  public LockProvider lockProvider(DataSource dataSource) {
+    return new JdbcTemplateLockProvider(JdbcTemplateLockProvider.Configuration.builder()
+        .withJdbcTemplate(new JdbcTemplate(dataSource))
+        .usingDbTime()
+        .build());
+  }
+
+  @Bean
+  public LockingTaskExecutor lockingTaskExecutor(LockProvider lockProvider) {
+    return new DefaultLockingTaskExecutor(lockProvider);
   }
 
   @Bean
@@ -1,7 +1,17 @@
 package com.crypto.wallet.infrastructure.config.properties;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "crypto-wallet.coincap.api")
-public record CoinCapProperties(String baseUrl, String key) {
-}
\ No newline at end of file
+public record CoinCapProperties(String baseUrl, String key, @DefaultValue("8") int maxConcurrentRequests,
+                                @DefaultValue("10") double requestsPerSecond, @DefaultValue("50") int batchSize,
+                                @DefaultValue Http http) {
+
+  public record Http(@DefaultValue("50") int maxConnections, @DefaultValue("20") int maxConnectionsPerRoute,
+                     @DefaultValue("2s") Duration connectTimeout, @DefaultValue("5s") Duration readTimeout,
+                     @DefaultValue("10s") Duration responseTimeout, @DefaultValue("5s") Duration connectionRequestTimeout,
+                     @DefaultValue("30s") Duration keepAlive) {
+  }
+}
@@ -0,0 +1,10 @@
+package com.crypto.wallet.infrastructure.config.properties;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "crypto-wallet.price-cache")
+public record PriceCacheProperties(@DefaultValue("60s") Duration ttl, @DefaultValue("10m") Duration maxStale,
+                                   @DefaultValue("10000") int maxSize) {
+}
@@ -0,0 +1,15 @@
+package com.crypto.wallet.infrastructure.config.properties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "price.update")
+public record PriceUpdateProperties(@DefaultValue("0.0001") BigDecimal epsilon, @DefaultValue("1h") Duration maxAge,
+                                    @DefaultValue("200") int writeChunkSize, @DefaultValue("250ms") Duration writeInterval,
+                                    @DefaultValue("8") int shards, @DefaultValue("2") int parallelShards,
+                                    @DefaultValue("15s") Duration hotInterval, @DefaultValue("1m") Duration warmInterval,
+                                    @DefaultValue("5m") Duration coldInterval, @DefaultValue("1000") int budgetPerMinute,
+                                    @DefaultValue("10m") Duration demandHalfLife) {
+}
@@ -0,0 +1,10 @@
+package com.crypto.wallet.infrastructure.config.properties;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "crypto-wallet.symbol-validity")
+public record SymbolValidityProperties(@DefaultValue("10m") Duration negativeTtl, @DefaultValue("100000") int maxNegativeEntries,
+                                       @DefaultValue("0.01") double falsePositiveRate) {
+}
@@ -2,6 +2,7 @@ package com.crypto.wallet;
 
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
+import com.crypto.wallet.infrastructure.adapter.out.memory.ColumnarHoldingsStore;
 import com.crypto.wallet.infrastructure.config.Profiles;
 import com.crypto.wallet.application.port.out.CryptoGateway;
 import com.crypto.wallet.application.model.primitives.Price;
@@ -33,6 +34,9 @@ public class BaseIT {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private ColumnarHoldingsStore holdingsStore;
+
     @Autowired
     protected TestRestTemplate restTemplate;
 
@@ -41,7 +45,8 @@ public class BaseIT {
 
     private static final List<String> POSTGRES_TABLES = List.of(
         "users",
-        "assets"
+        "assets",
+        "symbol_prices"
     );
 
     @PostConstruct
@@ -51,6 +56,8 @@ public class BaseIT {
     @AfterEach
     void cleanUp() {
         cleanupDatabase();
+        // Truncating bypasses the repository, so the in-memory holdings would otherwise outlive the rows.
+        holdingsStore.load();
     }
 
     private void cleanupDatabase() {
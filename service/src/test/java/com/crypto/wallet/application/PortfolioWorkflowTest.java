@@ -0,0 +1,48 @@
+package com.crypto.wallet.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.crypto.wallet.application.model.PortfolioSummary;
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.port.out.HoldingsStore;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PortfolioWorkflowTest {
+
+  @Mock
+  private HoldingsStore holdingsStore;
+
+  private PortfolioWorkflow portfolioWorkflow;
+
+  @BeforeEach
+  void setUp() {
+    portfolioWorkflow = new PortfolioWorkflow(holdingsStore);
+  }
+
+  @Test
+  void getPortfolioSummary_ShouldDelegateToHoldingsStore() {
+    var summary = new PortfolioSummary(Price.zero(), 0, 0, List.of(), List.of());
+    when(holdingsStore.summarize(5)).thenReturn(summary);
+
+    assertThat(portfolioWorkflow.getPortfolioSummary(5)).isSameAs(summary);
+  }
+
+  @Test
+  void getPortfolioSummary_WhenTopWalletsOutOfRange_ShouldThrowException() {
+    assertThatThrownBy(() -> portfolioWorkflow.getPortfolioSummary(PortfolioWorkflow.MAX_TOP_WALLETS + 1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Top wallets must be between 0 and");
+    assertThatThrownBy(() -> portfolioWorkflow.getPortfolioSummary(-1)).isInstanceOf(IllegalArgumentException.class);
+
+    verifyNoInteractions(holdingsStore);
+  }
+}
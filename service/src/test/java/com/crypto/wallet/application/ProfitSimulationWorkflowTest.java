@@ -16,6 +16,7 @@ import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Quantity;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import com.crypto.wallet.application.service.ProfitCalculationService;
+import com.crypto.wallet.application.service.SymbolDemandTracker;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +35,9 @@ class ProfitSimulationWorkflowTest {
   @Mock
   private ProfitCalculationService profitCalculationService;
 
+  @Mock
+  private SymbolDemandTracker demandTracker;
+
   private ProfitSimulationWorkflow profitSimulationWorkflow;
 
   private Symbol btcSymbol;
@@ -47,7 +51,7 @@ class ProfitSimulationWorkflowTest {
 
   @BeforeEach
   void setUp() {
-    profitSimulationWorkflow = new ProfitSimulationWorkflow(cryptoGateway, profitCalculationService);
+    profitSimulationWorkflow = new ProfitSimulationWorkflow(cryptoGateway, profitCalculationService, demandTracker);
 
     btcSymbol = Symbol.of("BTC");
     ethSymbol = Symbol.of("ETH");
@@ -3,8 +3,6 @@ package com.crypto.wallet.application;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,6 +18,7 @@ import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Quantity;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import com.crypto.wallet.application.model.primitives.WalletId;
+import com.crypto.wallet.application.service.SymbolDemandTracker;
 import com.crypto.wallet.application.service.WalletDomainService;
 import java.math.BigDecimal;
 import java.util.List;
@@ -45,6 +44,9 @@ class WalletWorkflowTest {
   @Mock
   private WalletDomainService walletDomainService;
 
+  @Mock
+  private SymbolDemandTracker demandTracker;
+
   private WalletWorkflow walletWorkFlow;
 
   private Email testEmail;
@@ -55,7 +57,7 @@ class WalletWorkflowTest {
 
   @BeforeEach
   void setUp() {
-    walletWorkFlow = new WalletWorkflow(userRepository, assetRepository, cryptoGateway, walletDomainService);
+    walletWorkFlow = new WalletWorkflow(userRepository, assetRepository, cryptoGateway, walletDomainService, demandTracker);
 
     testEmail = Email.of("spider.man@marvel.com");
     testWalletId = WalletId.generate();
@@ -66,8 +68,7 @@ class WalletWorkflowTest {
 
   @Test
   void createWallet_WhenEmailDoesNotExist_ShouldCreateAndReturnUser() {
-    when(userRepository.existsByEmail(testEmail)).thenReturn(false);
-    doNothing().when(userRepository).save(any(User.class));
+    when(userRepository.saveIfEmailAbsent(any(User.class))).thenReturn(true);
 
     User result = walletWorkFlow.createWallet(testEmail);
 
@@ -75,8 +76,16 @@ class WalletWorkflowTest {
     assertThat(result).isNotNull();
     assertThat(result.email()).isEqualTo(testEmail);
     assertThat(result.walletId()).isNotNull();
-    verify(userRepository).existsByEmail(testEmail);
-    verify(userRepository).save(any(User.class));
+    verify(userRepository).saveIfEmailAbsent(result);
+    verify(userRepository, never()).existsByEmail(any());
+  }
+
+  @Test
+  void createWallet_WhenEmailAlreadyExists_ShouldThrowException() {
+    when(userRepository.saveIfEmailAbsent(any(User.class))).thenReturn(false);
+
+    assertThatThrownBy(() -> walletWorkFlow.createWallet(testEmail)).isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Email already exists: " + testEmail.value());
   }
 
   @Test
@@ -160,63 +169,89 @@ class WalletWorkflowTest {
     // Then
     assertThat(result).isEqualTo(testPrice);
     verify(cryptoGateway).getPrice(testSymbol);
+    verify(demandTracker).recordRead(testSymbol);
   }
 
   @Test
-  void addAssetToWallet_WhenNewAsset_ShouldCreateAndSaveAsset() {
-    var user = User.create(testEmail);
-    user = User.of(user.email(), testWalletId, user.createdAt());
-    List<Asset> currentAssets = List.of();
-    var newAsset = Asset.create(testWalletId, testSymbol, testQuantity, testPrice);
+  void addAssetToWallet_WhenNewAsset_ShouldMergeWithoutReadingTheWalletFirst() {
+    var createdAt = User.create(testEmail).createdAt();
+    var expectedWallet = Wallet.of(testWalletId, List.of(Asset.create(testWalletId, testSymbol, testQuantity, testPrice)), createdAt);
 
-    when(userRepository.findByWalletId(testWalletId)).thenReturn(Optional.of(user));
-    when(assetRepository.findByWalletId(testWalletId)).thenReturn(currentAssets);
-    when(walletDomainService.canAddAssetToWallet(any(Wallet.class), eq(testSymbol), eq(testQuantity), eq(testPrice))).thenReturn(true);
-    when(assetRepository.findByWalletIdAndSymbol(testWalletId, testSymbol)).thenReturn(Optional.empty());
-    var expectedWallet = Wallet.of(testWalletId, List.of(newAsset), user.createdAt());
-    when(assetRepository.saveAssetAndReturnWallet(eq(testWalletId), any(Asset.class), eq(user))).thenReturn(expectedWallet);
+    when(walletDomainService.canAddAsset(testQuantity, testPrice)).thenReturn(true);
+    when(assetRepository.mergeAsset(testWalletId, testSymbol, testQuantity, testPrice, WalletDomainService.MAX_ASSETS_PER_WALLET))
+        .thenReturn(Optional.of(expectedWallet));
     when(walletDomainService.isValidWallet(expectedWallet)).thenReturn(true);
 
     var result = walletWorkFlow.addAssetToWallet(testWalletId, testSymbol, testQuantity, testPrice);
 
     // Then
-    assertThat(result).isNotNull();
-    assertThat(result.walletId()).isEqualTo(testWalletId);
+    assertThat(result).isEqualTo(expectedWallet);
     assertThat(result.assets()).hasSize(1);
     assertThat(result.assets().get(0).symbol()).isEqualTo(testSymbol);
 
-    verify(walletDomainService).canAddAssetToWallet(any(Wallet.class), eq(testSymbol), eq(testQuantity), eq(testPrice));
-    verify(assetRepository).saveAssetAndReturnWallet(eq(testWalletId), any(Asset.class), eq(user));
+    verify(userRepository, never()).findByWalletId(any());
+    verify(assetRepository, never()).findByWalletId(any());
     verify(walletDomainService).isValidWallet(expectedWallet);
   }
 
   @Test
-  void addAssetToWallet_WhenExistingAsset_ShouldMergeQuantities() {
-    var user = User.create(testEmail);
-    user = User.of(user.email(), testWalletId, user.createdAt());
-    var existingAsset = Asset.create(testWalletId, testSymbol, testQuantity, testPrice);
-    var mergedAsset = Asset.create(testWalletId, testSymbol, Quantity.of(new BigDecimal("3.0")), testPrice);
+  void addAssetToWallet_WhenWalletDoesNotExist_ShouldThrowException() {
+    when(walletDomainService.canAddAsset(testQuantity, testPrice)).thenReturn(true);
+    when(assetRepository.mergeAsset(testWalletId, testSymbol, testQuantity, testPrice, WalletDomainService.MAX_ASSETS_PER_WALLET))
+        .thenReturn(Optional.empty());
 
-    when(userRepository.findByWalletId(testWalletId)).thenReturn(Optional.of(user));
-    when(assetRepository.findByWalletId(testWalletId)).thenReturn(List.of(existingAsset));
-    when(walletDomainService.canAddAssetToWallet(any(Wallet.class), eq(testSymbol), eq(testQuantity), eq(testPrice))).thenReturn(true);
-    when(assetRepository.findByWalletIdAndSymbol(testWalletId, testSymbol)).thenReturn(Optional.of(existingAsset));
-    when(walletDomainService.mergeAssetQuantities(existingAsset, testQuantity, testPrice)).thenReturn(mergedAsset);
-    var expectedWallet = Wallet.of(testWalletId, List.of(mergedAsset), user.createdAt());
-    when(assetRepository.saveAssetAndReturnWallet(eq(testWalletId), eq(mergedAsset), eq(user))).thenReturn(expectedWallet);
+    assertThatThrownBy(() -> walletWorkFlow.addAssetToWallet(testWalletId, testSymbol, testQuantity, testPrice))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Wallet not found: " + testWalletId.value());
+  }
+
+  @Test
+  void addAssetToWallet_WhenAssetCapIsReached_ShouldThrowException() {
+    var otherAsset = Asset.create(testWalletId, Symbol.of("ETH"), testQuantity, testPrice);
+    var walletWithoutSymbol = Wallet.of(testWalletId, List.of(otherAsset), User.create(testEmail).createdAt());
+
+    when(walletDomainService.canAddAsset(testQuantity, testPrice)).thenReturn(true);
+    when(assetRepository.mergeAsset(testWalletId, testSymbol, testQuantity, testPrice, WalletDomainService.MAX_ASSETS_PER_WALLET))
+        .thenReturn(Optional.of(walletWithoutSymbol));
+
+    assertThatThrownBy(() -> walletWorkFlow.addAssetToWallet(testWalletId, testSymbol, testQuantity, testPrice))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Cannot add asset to wallet");
+  }
+
+  @Test
+  void addAsset_WhenPriceIsNotSupplied_ShouldUseSingleUpstreamCall() {
+    var expectedWallet = Wallet.of(testWalletId, List.of(Asset.create(testWalletId, testSymbol, testQuantity, testPrice)),
+        User.create(testEmail).createdAt());
+
+    when(cryptoGateway.getPrice(testSymbol)).thenReturn(Optional.of(testPrice));
+    when(walletDomainService.canAddAsset(testQuantity, testPrice)).thenReturn(true);
+    when(assetRepository.mergeAsset(testWalletId, testSymbol, testQuantity, testPrice, WalletDomainService.MAX_ASSETS_PER_WALLET))
+        .thenReturn(Optional.of(expectedWallet));
     when(walletDomainService.isValidWallet(expectedWallet)).thenReturn(true);
 
-    // When
-    var result = walletWorkFlow.addAssetToWallet(testWalletId, testSymbol, testQuantity, testPrice);
+    var result = walletWorkFlow.addAsset(testWalletId, testSymbol, testQuantity, Price.zero());
 
-    // Then
-    assertThat(result).isNotNull();
-    assertThat(result.walletId()).isEqualTo(testWalletId);
-    assertThat(result.assets()).hasSize(1);
+    assertThat(result).isEqualTo(expectedWallet);
+    verify(cryptoGateway).getPrice(testSymbol);
+    verify(cryptoGateway, never()).validateSymbol(any());
+  }
 
-    verify(walletDomainService).mergeAssetQuantities(existingAsset, testQuantity, testPrice);
-    verify(assetRepository).saveAssetAndReturnWallet(eq(testWalletId), eq(mergedAsset), eq(user));
-    verify(walletDomainService).isValidWallet(expectedWallet);
+  @Test
+  void addAsset_WhenPriceIsSupplied_ShouldOnlyValidateSymbol() {
+    var expectedWallet = Wallet.of(testWalletId, List.of(Asset.create(testWalletId, testSymbol, testQuantity, testPrice)),
+        User.create(testEmail).createdAt());
+
+    when(cryptoGateway.validateSymbol(testSymbol)).thenReturn(true);
+    when(walletDomainService.canAddAsset(testQuantity, testPrice)).thenReturn(true);
+    when(assetRepository.mergeAsset(testWalletId, testSymbol, testQuantity, testPrice, WalletDomainService.MAX_ASSETS_PER_WALLET))
+        .thenReturn(Optional.of(expectedWallet));
+    when(walletDomainService.isValidWallet(expectedWallet)).thenReturn(true);
+
+    walletWorkFlow.addAsset(testWalletId, testSymbol, testQuantity, testPrice);
+
+    verify(cryptoGateway).validateSymbol(testSymbol);
+    verify(cryptoGateway, never()).getPrice(any());
   }
 
 }
@@ -0,0 +1,29 @@
+package com.crypto.wallet.application.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class WalletPageQueryTest {
+
+  private final Price minTotal = Price.of(new BigDecimal("5000"));
+
+  @Test
+  void of_WhenMinimumTotalHasNoHoldingSymbol_ShouldThrow() {
+    assertThatThrownBy(() -> WalletPageQuery.of(null, 10, null, minTotal))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("A minimum total requires a holding symbol");
+  }
+
+  @Test
+  void of_WhenMinimumTotalHasHoldingSymbol_ShouldKeepBothFilters() {
+    var query = WalletPageQuery.of(null, 10, Symbol.of("BTC"), minTotal);
+
+    assertThat(query.holdingSymbol()).contains(Symbol.of("BTC"));
+    assertThat(query.minimumTotal()).contains(minTotal);
+  }
+}
@@ -0,0 +1,60 @@
+package com.crypto.wallet.application.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Quantity;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.model.primitives.WalletId;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WalletTest {
+
+  private final WalletId walletId = WalletId.generate();
+  private final OffsetDateTime createdAt = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+
+  @Test
+  void calculateTotalValue_ShouldComputeOnceAndCacheTheResult() {
+    var wallet = Wallet.of(walletId, List.of(asset("BTC", "0.5", "70000"), asset("ETH", "2", "3500.123456")), createdAt);
+
+    var total = wallet.calculateTotalValue();
+
+    assertThat(total.value()).isEqualByComparingTo("42000.246912");
+    assertThat(wallet.calculateTotalValue()).isSameAs(total);
+  }
+
+  @Test
+  void findAssetBySymbol_ShouldUseTheSymbolIndex() {
+    var btc = asset("BTC", "1", "70000");
+    var wallet = Wallet.of(walletId, List.of(btc, asset("ETH", "1", "3500")), createdAt);
+
+    assertThat(wallet.findAssetBySymbol(Symbol.of("BTC"))).containsSame(btc);
+    assertThat(wallet.hasAsset(Symbol.of("SOL"))).isFalse();
+  }
+
+  @Test
+  void of_WhenAssetBelongsToAnotherWallet_ShouldThrowException() {
+    var foreignAsset = Asset.create(WalletId.generate(), Symbol.of("BTC"), Quantity.of(BigDecimal.ONE), Price.of(BigDecimal.TEN));
+
+    assertThatThrownBy(() -> Wallet.of(walletId, List.of(foreignAsset), createdAt)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void ofTrusted_ShouldExposeAnUnmodifiableViewWithoutCopying() {
+    var assets = new ArrayList<>(List.of(asset("BTC", "1", "70000")));
+
+    var wallet = Wallet.ofTrusted(walletId, assets, createdAt);
+
+    assertThat(wallet).isEqualTo(Wallet.of(walletId, assets, createdAt));
+    assertThatThrownBy(() -> wallet.assets().add(asset("ETH", "1", "3500"))).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private Asset asset(String symbol, String quantity, String price) {
+    return Asset.of(walletId, Symbol.of(symbol), Quantity.of(new BigDecimal(quantity)), Price.of(new BigDecimal(price)), createdAt);
+  }
+}
@@ -0,0 +1,27 @@
+package com.crypto.wallet.application.model.primitives;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.regex.Pattern;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class EmailTest {
+
+  private static final Pattern LEGACY_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+
+  @ParameterizedTest
+  @ValueSource(strings = {"spider.man@marvel.com", " Peter.Parker@Marvel.COM ", "a_b%c+d-e@sub.domain.io", "x@a..com",
+      "x@1-2.de", "", "   ", "plain", "@marvel.com", "spider@", "spider@marvel", "spider@.com", "spider@marvel.c",
+      "spider@marvel.c0m", "spi der@marvel.com", "spider@@marvel.com", "spider@mar_vel.com", "spider@marvel.com.",
+      "spider@marvel-.co1", "späder@marvel.com"})
+  void of_ShouldAcceptExactlyWhatTheLegacyPatternAccepted(String input) {
+    if (LEGACY_PATTERN.matcher(input.trim()).matches()) {
+      assertThat(Email.of(input).value()).isEqualTo(input.trim().toLowerCase());
+    } else {
+      assertThatThrownBy(() -> Email.of(input)).isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Invalid email format: " + input);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.crypto.wallet.application.model.primitives;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class MoneyAccumulatorTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "0.000001, 0.5, 0.000001",
+      "0.000001, 0.49999999, 0.000000",
+      "65432.123456, 1.23456789, 80780.398593",
+      "65432.500000, 2000.00000001, 130865000.000654",
+      "92233.720368, 100000000.00000000, 9223372036800.000000",
+      "9000000000000.000000, 2.00000000, 18000000000000.000000",
+      "99999999999999.999999, 99999999.99999999, 9999999999999998999900.000000"
+  })
+  void multiply_ShouldRoundHalfUpToSixDecimals(String price, String quantity, String expected) {
+    var product = Price.of(new BigDecimal(price)).multiply(Quantity.of(new BigDecimal(quantity)));
+
+    assertThat(product.value()).isEqualTo(new BigDecimal(expected).setScale(Price.SCALE));
+  }
+
+  @Test
+  void roundedProduct_WhenProductNeedsMoreThan64Bits_ShouldStayOnLongs() {
+    var price = Price.of(new BigDecimal("65432.123456"));
+    var quantity = Quantity.of(new BigDecimal("2000.5"));
+
+    assertThat(MoneyAccumulator.roundedProduct(price.units(), quantity.units())).isEqualTo(130_896_962_973_728L);
+  }
+
+  @Test
+  void total_ShouldMatchBigDecimalArithmeticBitForBit() {
+    var random = new Random(42);
+    for (int wallet = 0; wallet < 2_000; wallet++) {
+      var accumulator = new MoneyAccumulator();
+      var expected = BigDecimal.ZERO.setScale(Price.SCALE);
+      for (int asset = 0; asset < 1 + random.nextInt(20); asset++) {
+        var price = Price.of(randomDecimal(random, 6, wallet % 10 == 0 ? 14 : 7));
+        var quantity = Quantity.of(randomDecimal(random, 8, wallet % 10 == 1 ? 12 : 5));
+
+        accumulator.addProduct(price, quantity);
+        expected = expected.add(price.value().multiply(quantity.value()).setScale(Price.SCALE, RoundingMode.HALF_UP));
+      }
+
+      assertThat(accumulator.total().value()).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void total_WhenSumLeavesLongRange_ShouldFallBackToBigDecimal() {
+    var large = Price.of(new BigDecimal("9000000000000.000000"));
+    var accumulator = new MoneyAccumulator();
+
+    accumulator.add(large).add(large).add(Price.of(new BigDecimal("0.000001")));
+
+    assertThat(accumulator.total().value()).isEqualTo(new BigDecimal("18000000000000.000001"));
+  }
+
+  private static BigDecimal randomDecimal(Random random, int scale, int integerDigits) {
+    var integerPart = new BigDecimal(random.nextLong(0, (long) Math.pow(10, Math.min(integerDigits, 18))));
+    var fraction = BigDecimal.valueOf(random.nextLong(0, (long) Math.pow(10, scale)), scale);
+    return integerPart.add(fraction);
+  }
+}
@@ -0,0 +1,40 @@
+package com.crypto.wallet.application.model.primitives;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SymbolTest {
+
+  @ParameterizedTest
+  @CsvSource({"BTC,BTC", "btc,BTC", "' eth ',ETH", "1INCH,1INCH", "Usdc2,USDC2"})
+  void of_WhenValueIsValid_ShouldNormalizeIt(String input, String expected) {
+    assertThat(Symbol.of(input).value()).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "   ", "ABCDEFGHIJK", "BT-C", "BTC!", "ÄBC", "B C"})
+  void of_WhenValueIsInvalid_ShouldThrowException(String input) {
+    assertThatThrownBy(() -> Symbol.of(input)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void of_WhenSymbolRepeats_ShouldReturnCanonicalInstance() {
+    var first = Symbol.of("SOL");
+
+    assertThat(Symbol.of("SOL")).isSameAs(first);
+    assertThat(Symbol.of(" sol ")).isSameAs(first);
+    assertThat(new Symbol("SOL")).isEqualTo(first);
+  }
+
+  @Test
+  void of_WhenValueIsAlreadyCanonical_ShouldKeepTheSameString() {
+    var value = new String("DOGE");
+
+    assertThat(new Symbol(value).value()).isSameAs(value);
+  }
+}
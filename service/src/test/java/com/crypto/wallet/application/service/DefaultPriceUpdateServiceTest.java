@@ -0,0 +1,352 @@
+package com.crypto.wallet.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.crypto.wallet.application.model.PriceShard;
+import com.crypto.wallet.application.model.SymbolPrice;
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.port.in.PriceUpdateUseCase.PriceUpdateResult;
+import com.crypto.wallet.application.port.out.AssetRepository;
+import com.crypto.wallet.application.port.out.CryptoGateway;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultPriceUpdateServiceTest {
+
+  private static final Symbol BTC = Symbol.of("BTC");
+  private static final Symbol USDT = Symbol.of("USDT");
+  private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+  private static final OffsetDateTime STORED_AT = OffsetDateTime.ofInstant(START.minus(Duration.ofMinutes(5)), ZoneOffset.UTC);
+
+  @Mock
+  private AssetRepository assetRepository;
+
+  @Mock
+  private CryptoGateway cryptoGateway;
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private MutableClock clock;
+  private DefaultPriceUpdateService priceUpdateService;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(START);
+    priceUpdateService = priceUpdateService(200);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.close();
+  }
+
+  @Test
+  void updateAllPrices_WhenNoSymbolsAreHeld_ShouldNotFetchPrices() {
+    when(assetRepository.countHoldersBySymbol()).thenReturn(Map.of());
+
+    assertThat(priceUpdateService.updateAllPrices()).isEqualTo(PriceUpdateResult.none());
+
+    verify(cryptoGateway, never()).refreshPrices(anyList(), any());
+  }
+
+  @Test
+  void updateAllPrices_ShouldOnlyWritePricesThatMovedMoreThanEpsilon() {
+    when(assetRepository.countHoldersBySymbol()).thenReturn(Map.of(BTC, 1, USDT, 1));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of(
+        new SymbolPrice(BTC, price("60000"), STORED_AT),
+        new SymbolPrice(USDT, price("1.0000"), STORED_AT)));
+    givenFetchedPrices(Map.of(BTC, price("60100")), Map.of(USDT, price("1.0009")));
+
+    var result = priceUpdateService.updateAllPrices();
+
+    assertThat(result).isEqualTo(new PriceUpdateResult(2, 1, 1));
+    verify(assetRepository).updatePricesForSymbols(Map.of(BTC, price("60100")));
+  }
+
+  @Test
+  void updateAllPrices_WhenLastWriteIsOlderThanMaxAge_ShouldRewriteUnchangedPrice() {
+    when(assetRepository.countHoldersBySymbol()).thenReturn(Map.of(USDT, 1));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of());
+    givenFetchedPrices(Map.of(USDT, price("1")));
+
+    assertThat(priceUpdateService.updateAllPrices()).isEqualTo(new PriceUpdateResult(1, 1, 0));
+    clock.advance(Duration.ofMinutes(59));
+    assertThat(priceUpdateService.updateAllPrices()).isEqualTo(new PriceUpdateResult(1, 0, 1));
+    clock.advance(Duration.ofMinutes(1));
+    assertThat(priceUpdateService.updateAllPrices()).isEqualTo(new PriceUpdateResult(1, 1, 0));
+
+    verify(assetRepository).findLatestPrices();
+  }
+
+  @Test
+  void updateAllPrices_WhenSymbolWasRefreshedWithinItsInterval_ShouldNotFetchItAgain() {
+    when(assetRepository.countHoldersBySymbol()).thenReturn(Map.of(BTC, 1));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of());
+    givenFetchedPrices(Map.of(BTC, price("60000")));
+
+    priceUpdateService.updateAllPrices();
+    clock.advance(Duration.ofSeconds(30));
+    assertThat(priceUpdateService.updateAllPrices()).isEqualTo(PriceUpdateResult.none());
+    clock.advance(Duration.ofSeconds(30));
+    assertThat(priceUpdateService.updateAllPrices()).isEqualTo(new PriceUpdateResult(1, 0, 1));
+
+    verify(cryptoGateway, times(2)).refreshPrices(anyList(), any());
+  }
+
+  @Test
+  void updateAllPrices_WhenSymbolIsHot_ShouldFetchItUpstreamEveryHotInterval() {
+    var demandTracker = new SymbolDemandTracker(Duration.ofMinutes(10), clock);
+    for (var i = 0; i < 50; i++) {
+      demandTracker.recordRead(BTC);
+    }
+    var refreshScheduler = new SymbolRefreshScheduler(demandTracker, Duration.ofSeconds(15), Duration.ofMinutes(1),
+        Duration.ofMinutes(5), 6);
+    priceUpdateService = new DefaultPriceUpdateService(assetRepository, cryptoGateway, refreshScheduler, executor,
+        new BigDecimal("0.001"), Duration.ofHours(1), 200, Duration.ofSeconds(10), clock);
+    when(assetRepository.countHoldersBySymbol()).thenReturn(Map.of(BTC, 1, USDT, 1));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of());
+    doAnswer(invocation -> {
+      List<Symbol> symbols = invocation.getArgument(0);
+      Consumer<Map<Symbol, Price>> consumer = invocation.getArgument(1);
+      var prices = new HashMap<Symbol, Price>();
+      symbols.forEach(symbol -> prices.put(symbol, price("1")));
+      consumer.accept(prices);
+      return null;
+    }).when(cryptoGateway).refreshPrices(anyList(), any());
+
+    priceUpdateService.updateAllPrices();
+    clock.advance(Duration.ofSeconds(15));
+    priceUpdateService.updateAllPrices();
+    clock.advance(Duration.ofSeconds(15));
+    priceUpdateService.updateAllPrices();
+
+    verify(cryptoGateway).refreshPrices(eq(List.of(BTC, USDT)), any());
+    verify(cryptoGateway, times(2)).refreshPrices(eq(List.of(BTC)), any());
+    verify(cryptoGateway, never()).fetchPrices(anyList(), any());
+  }
+
+  @Test
+  void updateAllPrices_WhenNothingMoved_ShouldNotWrite() {
+    when(assetRepository.countHoldersBySymbol()).thenReturn(Map.of(BTC, 1));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of(
+        new SymbolPrice(BTC, price("60000"), STORED_AT)));
+    givenFetchedPrices(Map.of(BTC, price("60000")));
+
+    assertThat(priceUpdateService.updateAllPrices()).isEqualTo(new PriceUpdateResult(1, 0, 1));
+
+    verify(assetRepository, never()).updatePricesForSymbols(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void updateAllPrices_ShouldWriteMovedPricesInChunksOfTheConfiguredSize() {
+    priceUpdateService = priceUpdateService(2);
+    var symbols = List.of(Symbol.of("AAA"), Symbol.of("BBB"), Symbol.of("CCC"), Symbol.of("DDD"), Symbol.of("EEE"));
+    var prices = new HashMap<Symbol, Price>();
+    symbols.forEach(symbol -> prices.put(symbol, price("10")));
+    when(assetRepository.countHoldersBySymbol()).thenReturn(holders(symbols));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of());
+    givenFetchedPrices(Map.of(symbols.get(0), price("10"), symbols.get(1), price("10"), symbols.get(2), price("10")),
+        Map.of(symbols.get(3), price("10"), symbols.get(4), price("10")));
+
+    assertThat(priceUpdateService.updateAllPrices()).isEqualTo(new PriceUpdateResult(5, 5, 0));
+
+    ArgumentCaptor<Map<Symbol, Price>> chunks = ArgumentCaptor.forClass(Map.class);
+    verify(assetRepository, times(3)).updatePricesForSymbols(chunks.capture());
+    assertThat(chunks.getAllValues()).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(2));
+    var written = new HashMap<Symbol, Price>();
+    chunks.getAllValues().forEach(written::putAll);
+    assertThat(written).isEqualTo(prices);
+  }
+
+  @Test
+  void updateAllPrices_WhenWriteFails_ShouldStopFetchersAndRethrow() {
+    priceUpdateService = priceUpdateService(1);
+    var symbols = new ArrayList<Symbol>();
+    var batch = new HashMap<Symbol, Price>();
+    for (var i = 0; i < 20; i++) {
+      var symbol = Symbol.of("S" + (char) ('A' + i));
+      symbols.add(symbol);
+      batch.put(symbol, price("1"));
+    }
+    when(assetRepository.countHoldersBySymbol()).thenReturn(holders(symbols));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of());
+    givenFetchedPrices(batch);
+    doThrow(new IllegalStateException("database down")).when(assetRepository).updatePricesForSymbols(any());
+
+    assertThatThrownBy(() -> priceUpdateService.updateAllPrices())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("database down");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void updateAllPrices_WhenWriteFailsMidRun_ShouldStopTheFetchBeforeRethrowing() {
+    priceUpdateService = priceUpdateService(1);
+    var symbols = new ArrayList<Symbol>();
+    for (var i = 0; i < 20; i++) {
+      symbols.add(Symbol.of("S" + i));
+    }
+    when(assetRepository.countHoldersBySymbol()).thenReturn(holders(symbols));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of());
+    var writeFailed = new CountDownLatch(1);
+    var accepted = new AtomicInteger();
+    var fetchStopped = new AtomicBoolean();
+    doAnswer(invocation -> {
+      Consumer<Map<Symbol, Price>> consumer = invocation.getArgument(1);
+      try {
+        for (var symbol : symbols) {
+          if (accepted.get() == 2) {
+            writeFailed.await();
+          }
+          consumer.accept(Map.of(symbol, price("1")));
+          accepted.incrementAndGet();
+        }
+      } finally {
+        fetchStopped.set(true);
+      }
+      return null;
+    }).when(cryptoGateway).refreshPrices(anyList(), any());
+    doNothing().doAnswer(invocation -> {
+      writeFailed.countDown();
+      throw new IllegalStateException("database down");
+    }).when(assetRepository).updatePricesForSymbols(any());
+
+    assertThatThrownBy(() -> priceUpdateService.updateAllPrices())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("database down");
+
+    assertThat(fetchStopped).isTrue();
+    assertThat(accepted.get()).isLessThan(symbols.size());
+    verify(assetRepository, times(2)).updatePricesForSymbols(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void updatePrices_ShouldOnlyFetchSymbolsOfTheShard() {
+    var shard = new PriceShard(1, 4);
+    var symbols = new ArrayList<Symbol>();
+    for (var i = 0; i < 20; i++) {
+      symbols.add(Symbol.of("S" + (char) ('A' + i)));
+    }
+    var inShard = symbols.stream().filter(shard::contains).toList();
+    when(assetRepository.countHoldersBySymbol()).thenReturn(holders(symbols));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of());
+
+    priceUpdateService.updatePrices(shard);
+
+    ArgumentCaptor<List<Symbol>> fetched = ArgumentCaptor.forClass(List.class);
+    verify(cryptoGateway).refreshPrices(fetched.capture(), any());
+    assertThat(inShard).isNotEmpty().hasSizeLessThan(symbols.size());
+    assertThat(fetched.getValue()).containsExactlyInAnyOrderElementsOf(inShard);
+  }
+
+  @Test
+  void updatePrices_WhenShardWasRunBefore_ShouldOnlyReadPricesStoredSinceTheNewestOneRead() {
+    var shard = new PriceShard(Math.floorMod(BTC.value().hashCode(), 4), 4);
+    var writtenElsewhere = OffsetDateTime.ofInstant(START.plusSeconds(30), ZoneOffset.UTC);
+    when(assetRepository.countHoldersBySymbol()).thenReturn(Map.of(BTC, 1));
+    when(assetRepository.findLatestPrices()).thenReturn(List.of(new SymbolPrice(BTC, price("60000"), STORED_AT)));
+    when(assetRepository.findPricesUpdatedSince(STORED_AT.minusSeconds(30)))
+        .thenReturn(List.of(new SymbolPrice(BTC, price("61000"), writtenElsewhere)));
+    givenFetchedPrices(Map.of(BTC, price("61000")));
+
+    assertThat(priceUpdateService.updatePrices(shard)).isEqualTo(new PriceUpdateResult(1, 1, 0));
+    clock.advance(Duration.ofMinutes(1));
+    assertThat(priceUpdateService.updatePrices(shard)).isEqualTo(PriceUpdateResult.none());
+
+    verify(assetRepository).findLatestPrices();
+    verify(assetRepository).findPricesUpdatedSince(STORED_AT.minusSeconds(30));
+  }
+
+  private DefaultPriceUpdateService priceUpdateService(int writeChunkSize) {
+    var refreshScheduler = new SymbolRefreshScheduler(new SymbolDemandTracker(Duration.ofMinutes(10), clock),
+        Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMinutes(1), 1_000);
+    return new DefaultPriceUpdateService(assetRepository, cryptoGateway, refreshScheduler, executor, new BigDecimal("0.001"),
+        Duration.ofHours(1), writeChunkSize, Duration.ofSeconds(10), clock);
+  }
+
+  @SafeVarargs
+  @SuppressWarnings("unchecked")
+  private void givenFetchedPrices(Map<Symbol, Price>... batches) {
+    doAnswer(invocation -> {
+      Consumer<Map<Symbol, Price>> consumer = invocation.getArgument(1);
+      for (var batch : batches) {
+        consumer.accept(batch);
+      }
+      return null;
+    }).when(cryptoGateway).refreshPrices(anyList(), any());
+  }
+
+  private static Map<Symbol, Integer> holders(List<Symbol> symbols) {
+    var holders = new HashMap<Symbol, Integer>();
+    symbols.forEach(symbol -> holders.put(symbol, 1));
+    return holders;
+  }
+
+  private static Price price(String value) {
+    return Price.of(new BigDecimal(value));
+  }
+
+  private static class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.crypto.wallet.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SymbolDemandTrackerTest {
+
+  private static final Symbol BTC = Symbol.of("BTC");
+  private static final Symbol ETH = Symbol.of("ETH");
+  private static final Duration HALF_LIFE = Duration.ofMinutes(10);
+
+  private MutableClock clock;
+  private SymbolDemandTracker demandTracker;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    demandTracker = new SymbolDemandTracker(HALF_LIFE, clock);
+  }
+
+  @Test
+  void recentReads_ShouldCountRecordedReads() {
+    demandTracker.recordReads(List.of(BTC, BTC, ETH));
+
+    assertThat(demandTracker.recentReads(BTC)).isEqualTo(2);
+    assertThat(demandTracker.recentReads(ETH)).isEqualTo(1);
+    assertThat(demandTracker.recentReads(Symbol.of("ADA"))).isZero();
+  }
+
+  @Test
+  void recentReads_ShouldHalveCountsEveryHalfLife() {
+    for (var i = 0; i < 8; i++) {
+      demandTracker.recordRead(BTC);
+    }
+    demandTracker.recordRead(ETH);
+
+    clock.advance(HALF_LIFE);
+    assertThat(demandTracker.recentReads(BTC)).isEqualTo(4);
+    assertThat(demandTracker.recentReads(ETH)).isZero();
+
+    clock.advance(HALF_LIFE.multipliedBy(2));
+    assertThat(demandTracker.recentReads(BTC)).isEqualTo(1);
+  }
+
+  private static class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.crypto.wallet.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crypto.wallet.application.model.PriceShard;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class SymbolRefreshSchedulerTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+  private static final Symbol BTC = Symbol.of("BTC");
+  private static final Symbol ETH = Symbol.of("ETH");
+  private static final Symbol ADA = Symbol.of("ADA");
+
+  private final SymbolDemandTracker demandTracker = new SymbolDemandTracker(Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+
+  @Test
+  void plan_ShouldPromoteWhileEverySymbolStillFitsTheBudget() {
+    var plan = scheduler(60).plan(100, 1.0);
+
+    assertThat(plan.hot()).isEqualTo(10);
+    assertThat(plan.warm()).isEqualTo(2);
+    // What the hot and warm tiers leave over, 0.3 refreshes a second, is shared by the 88 cold symbols.
+    assertThat(plan.coldInterval()).isBetween(Duration.ofSeconds(293), Duration.ofSeconds(294));
+  }
+
+  @Test
+  void plan_WhenBudgetCannotSustainTheColdInterval_ShouldStretchItAndPromoteNothing() {
+    var plan = scheduler(1).plan(10, 1 / 60.0);
+
+    assertThat(plan.hot()).isZero();
+    assertThat(plan.warm()).isZero();
+    assertThat(plan.coldInterval()).isBetween(Duration.ofMinutes(10), Duration.ofMinutes(10).plusMillis(1));
+  }
+
+  @Test
+  void dueSymbols_ShouldRefreshTheMostDemandedSymbolsMoreOften() {
+    var scheduler = scheduler(5);
+    for (var i = 0; i < 50; i++) {
+      demandTracker.recordRead(ETH);
+    }
+    var holderCounts = Map.of(BTC, 100, ETH, 1, ADA, 1);
+    scheduler.markRefreshed(Set.of(BTC, ETH, ADA), NOW);
+
+    assertThat(scheduler.dueSymbols(holderCounts, PriceShard.all(), NOW.plusSeconds(20))).containsExactly(BTC);
+    assertThat(scheduler.dueSymbols(holderCounts, PriceShard.all(), NOW.plusSeconds(130))).containsExactly(BTC, ETH, ADA);
+  }
+
+  @Test
+  void dueSymbols_WhenSymbolWasNeverRefreshed_ShouldReturnIt() {
+    var scheduler = scheduler(5);
+
+    assertThat(scheduler.dueSymbols(Map.of(BTC, 1), PriceShard.all(), NOW)).containsExactly(BTC);
+  }
+
+  private SymbolRefreshScheduler scheduler(int budgetPerMinute) {
+    return new SymbolRefreshScheduler(demandTracker, Duration.ofSeconds(15), Duration.ofMinutes(1), Duration.ofMinutes(5),
+        budgetPerMinute);
+  }
+}
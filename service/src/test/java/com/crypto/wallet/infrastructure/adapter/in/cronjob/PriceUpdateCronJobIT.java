@@ -0,0 +1,71 @@
+package com.crypto.wallet.infrastructure.adapter.in.cronjob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crypto.wallet.BaseIT;
+import com.crypto.wallet.application.model.PriceShard;
+import com.crypto.wallet.application.port.in.PriceUpdateUseCase;
+import com.crypto.wallet.application.port.in.PriceUpdateUseCase.PriceUpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+import net.javacrumbs.shedlock.core.LockingTaskExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class PriceUpdateCronJobIT extends BaseIT {
+
+  @Autowired
+  private LockingTaskExecutor lockingTaskExecutor;
+
+  @Autowired
+  private ExecutorService virtualThreadExecutor;
+
+  @Autowired
+  private JdbcClient jdbcClient;
+
+  private final List<PriceShard> refreshed = new CopyOnWriteArrayList<>();
+
+  /**
+   * Lock rows outlive a test, and the lock provider remembers the rows it created, so locks are expired rather than deleted.
+   */
+  @BeforeEach
+  void expireLocks() {
+    jdbcClient.sql("UPDATE shedlock SET lock_until = locked_at WHERE name LIKE 'priceUpdateTask%'").update();
+  }
+
+  @Test
+  void updatePrices_WhenTwoInstancesRunTogether_ShouldRefreshEveryShardOnce() {
+    var first = cronJob(6);
+    var second = cronJob(6);
+
+    CompletableFuture.allOf(CompletableFuture.runAsync(first::updatePrices, virtualThreadExecutor),
+        CompletableFuture.runAsync(second::updatePrices, virtualThreadExecutor)).join();
+
+    assertThat(refreshed).containsExactlyInAnyOrderElementsOf(
+        IntStream.range(0, 6).mapToObj(index -> new PriceShard(index, 6)).toList());
+  }
+
+  @Test
+  void updatePrices_WhenShardsWereJustRefreshed_ShouldSkipThemUntilTheMinimumLockTimeHasPassed() {
+    cronJob(6).updatePrices();
+    cronJob(6).updatePrices();
+
+    assertThat(refreshed).hasSize(6);
+  }
+
+  private PriceUpdateCronJob cronJob(int shards) {
+    PriceUpdateUseCase recordingUseCase = shard -> {
+      refreshed.add(shard);
+      return PriceUpdateResult.none();
+    };
+    return new PriceUpdateCronJob(recordingUseCase, lockingTaskExecutor, virtualThreadExecutor, shards, 2,
+        new SimpleMeterRegistry(), Clock.systemUTC());
+  }
+}
@@ -0,0 +1,173 @@
+package com.crypto.wallet.infrastructure.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.port.out.CryptoGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCryptoGatewayTest {
+
+  private static final Duration TTL = Duration.ofSeconds(60);
+  private static final Duration MAX_STALE = Duration.ofMinutes(10);
+
+  @Mock
+  private CryptoGateway delegate;
+
+  private MutableClock clock;
+  private SimpleMeterRegistry meterRegistry;
+  private CachingCryptoGateway cachingGateway;
+
+  private final Symbol btc = Symbol.of("BTC");
+  private final Symbol eth = Symbol.of("ETH");
+  private final Price btcPrice = Price.of(new BigDecimal("70000"));
+  private final Price ethPrice = Price.of(new BigDecimal("3600"));
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    meterRegistry = new SimpleMeterRegistry();
+    cachingGateway = new CachingCryptoGateway(delegate, Executors.newVirtualThreadPerTaskExecutor(), TTL, MAX_STALE, 2,
+        meterRegistry, clock);
+    cachingGateway.registerGauges(meterRegistry);
+  }
+
+  @Test
+  void getPrice_WhenEntryIsFresh_ShouldNotCallUpstreamAgain() {
+    when(delegate.getPrice(btc)).thenReturn(Optional.of(btcPrice));
+
+    assertThat(cachingGateway.getPrice(btc)).contains(btcPrice);
+    assertThat(cachingGateway.getPrice(btc)).contains(btcPrice);
+
+    verify(delegate, times(1)).getPrice(btc);
+    assertThat(cacheGets("hit")).isEqualTo(1);
+    assertThat(cacheGets("miss")).isEqualTo(1);
+  }
+
+  @Test
+  void getPrice_WhenEntryIsStale_ShouldServeItAndRefreshInBackground() {
+    var refreshedPrice = Price.of(new BigDecimal("71000"));
+    when(delegate.getPrice(btc)).thenReturn(Optional.of(btcPrice));
+    when(delegate.getPrices(List.of(btc))).thenReturn(Map.of(btc, refreshedPrice));
+
+    cachingGateway.getPrice(btc);
+    clock.advance(TTL.plusSeconds(1));
+
+    assertThat(cachingGateway.getPrice(btc)).contains(btcPrice);
+    verify(delegate, timeout(1000)).getPrices(List.of(btc));
+    assertThat(cacheGets("stale")).isEqualTo(1);
+  }
+
+  @Test
+  void getPrice_WhenEntryIsOlderThanStaleWindow_ShouldFetchSynchronously() {
+    when(delegate.getPrice(btc)).thenReturn(Optional.of(btcPrice));
+
+    cachingGateway.getPrice(btc);
+    clock.advance(TTL.plus(MAX_STALE));
+    cachingGateway.getPrice(btc);
+
+    verify(delegate, times(2)).getPrice(btc);
+    assertThat(cacheGets("miss")).isEqualTo(2);
+  }
+
+  @Test
+  void getPrices_WhenSomeSymbolsAreCached_ShouldOnlyFetchMissingOnes() {
+    when(delegate.getPrice(btc)).thenReturn(Optional.of(btcPrice));
+    when(delegate.getPrices(List.of(eth))).thenReturn(Map.of(eth, ethPrice));
+
+    cachingGateway.getPrice(btc);
+    var prices = cachingGateway.getPrices(List.of(btc, eth));
+
+    assertThat(prices).containsEntry(btc, btcPrice).containsEntry(eth, ethPrice);
+    verify(delegate).getPrices(List.of(eth));
+  }
+
+  @Test
+  void getPrices_WhenCacheIsFull_ShouldEvictLeastRecentlyUsedEntry() {
+    var sol = Symbol.of("SOL");
+    when(delegate.getPrices(List.of(btc, eth, sol))).thenReturn(
+        Map.of(btc, btcPrice, eth, ethPrice, sol, Price.of(new BigDecimal("100"))));
+
+    cachingGateway.getPrices(List.of(btc, eth, sol));
+
+    assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(2);
+  }
+
+  @Test
+  void refreshPrices_WhenEntryIsFresh_ShouldFetchUpstreamAndCacheResult() {
+    var refreshedPrice = Price.of(new BigDecimal("71000"));
+    when(delegate.getPrice(btc)).thenReturn(Optional.of(btcPrice));
+    doAnswer(invocation -> {
+      Consumer<Map<Symbol, Price>> consumer = invocation.getArgument(1);
+      consumer.accept(Map.of(btc, refreshedPrice));
+      return null;
+    }).when(delegate).refreshPrices(eq(List.of(btc)), any());
+
+    cachingGateway.getPrice(btc);
+    var refreshed = new HashMap<Symbol, Price>();
+    cachingGateway.refreshPrices(List.of(btc), refreshed::putAll);
+
+    assertThat(refreshed).containsEntry(btc, refreshedPrice);
+    assertThat(cachingGateway.getPrice(btc)).contains(refreshedPrice);
+    verify(delegate, times(1)).getPrice(btc);
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry.get("cache.gets").tag("result", result).counter().count();
+  }
+
+  private static class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
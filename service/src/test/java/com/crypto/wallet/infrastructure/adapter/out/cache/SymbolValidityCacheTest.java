@@ -0,0 +1,122 @@
+package com.crypto.wallet.infrastructure.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.port.out.CryptoGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SymbolValidityCacheTest {
+
+  private static final Duration NEGATIVE_TTL = Duration.ofMinutes(10);
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Mock
+  private CryptoGateway delegate;
+
+  private SimpleMeterRegistry meterRegistry;
+  private SymbolValidityCache validityCache;
+
+  private final Symbol btc = Symbol.of("BTC");
+  private final Symbol junk = Symbol.of("NOPE");
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    validityCache = createCache(Clock.fixed(NOW, ZoneOffset.UTC), 100);
+  }
+
+  @Test
+  void validateSymbol_WhenSymbolWasConfirmed_ShouldNotCallUpstreamAgain() {
+    when(delegate.validateSymbol(btc)).thenReturn(true);
+
+    assertThat(validityCache.validateSymbol(btc)).isTrue();
+    assertThat(validityCache.validateSymbol(btc)).isTrue();
+
+    verify(delegate, times(1)).validateSymbol(btc);
+    assertThat(lookups("valid")).isEqualTo(1);
+  }
+
+  @Test
+  void validateSymbol_WhenSymbolWasRejected_ShouldAnswerFromMemoryUntilTtlExpires() {
+    when(delegate.validateSymbol(junk)).thenReturn(false);
+
+    assertThat(validityCache.validateSymbol(junk)).isFalse();
+    assertThat(validityCache.validateSymbol(junk)).isFalse();
+    assertThat(validityCache.getPrice(junk)).isEmpty();
+    verify(delegate, times(1)).validateSymbol(junk);
+    verify(delegate, never()).getPrice(junk);
+
+    var expiredCache = createCache(Clock.fixed(NOW.plus(NEGATIVE_TTL), ZoneOffset.UTC), 100);
+    expiredCache.validateSymbol(junk);
+    assertThat(expiredCache.validateSymbol(junk)).isFalse();
+    verify(delegate, times(2)).validateSymbol(junk);
+  }
+
+  @Test
+  void validateSymbol_WhenUpstreamFails_ShouldNotCacheRejection() {
+    when(delegate.validateSymbol(btc)).thenThrow(new IllegalStateException("CoinCap unavailable")).thenReturn(true);
+
+    assertThatThrownBy(() -> validityCache.validateSymbol(btc)).isInstanceOf(IllegalStateException.class);
+    assertThat(validityCache.validateSymbol(btc)).isTrue();
+
+    verify(delegate, times(2)).validateSymbol(btc);
+  }
+
+  @Test
+  void getPrices_WhenSymbolIsKnownInvalid_ShouldOnlyRequestTheOthers() {
+    var price = Price.of(new BigDecimal("70000"));
+    when(delegate.validateSymbol(junk)).thenReturn(false);
+    when(delegate.getPrices(List.of(btc))).thenReturn(Map.of(btc, price));
+
+    validityCache.validateSymbol(junk);
+    var prices = validityCache.getPrices(List.of(btc, junk));
+
+    assertThat(prices).containsOnly(Map.entry(btc, price));
+    assertThat(validityCache.validateSymbol(btc)).isTrue();
+    verify(delegate, never()).validateSymbol(btc);
+  }
+
+  @Test
+  void validateSymbol_WhenNegativeCacheIsFull_ShouldStillAnswerFromUpstream() {
+    meterRegistry = new SimpleMeterRegistry();
+    var fullCache = createCache(Clock.fixed(NOW, ZoneOffset.UTC), 1);
+    var other = Symbol.of("JUNK");
+    when(delegate.validateSymbol(junk)).thenReturn(false);
+    when(delegate.validateSymbol(other)).thenReturn(false);
+
+    assertThat(fullCache.validateSymbol(junk)).isFalse();
+    assertThat(fullCache.validateSymbol(other)).isFalse();
+    assertThat(fullCache.validateSymbol(other)).isFalse();
+
+    verify(delegate, times(2)).validateSymbol(other);
+    assertThat(meterRegistry.get("symbol.validity.size").tag("set", "invalid").gauge().value()).isEqualTo(1);
+  }
+
+  private SymbolValidityCache createCache(Clock clock, int maxNegativeEntries) {
+    return new SymbolValidityCache(delegate, NEGATIVE_TTL, maxNegativeEntries, 0.01, meterRegistry, clock);
+  }
+
+  private double lookups(String result) {
+    return meterRegistry.get("symbol.validity.lookups").tag("result", result).counter().count();
+  }
+}
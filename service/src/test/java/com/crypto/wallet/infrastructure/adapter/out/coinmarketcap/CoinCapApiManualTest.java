@@ -11,15 +11,19 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Symbol;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +34,7 @@ import org.springframework.web.client.RestClient;
 public class CoinCapApiManualTest {
 
   private WireMockServer wireMockServer;
+  private SimpleMeterRegistry meterRegistry;
   private CoinMarketCap coinCapClient;
 
   @BeforeEach
@@ -38,6 +43,7 @@ public class CoinCapApiManualTest {
     wireMockServer.start();
     WireMock.configureFor(wireMockServer.port());
 
+    meterRegistry = new SimpleMeterRegistry();
     coinCapClient = createCoinCapClient();
     setupMockResponses();
   }
@@ -77,6 +83,69 @@ public class CoinCapApiManualTest {
     verify(moreThanOrExactly(1), getRequestedFor(urlMatching("/v2/price/bysymbol/.*")));
   }
 
+  @Test
+  void testBatchRequestMapsPricesBackBySymbol() {
+    stubFor(get(urlEqualTo("/v2/price/bysymbol/BTC,ETH,ADA")).willReturn(
+        aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody("""
+            {
+              "timestamp": %d,
+              "data": ["65432.50", "3456.78", "0.45"]
+            }
+            """.formatted(System.currentTimeMillis()))));
+
+    Map<Symbol, Price> prices = coinCapClient.getPrices(List.of(Symbol.of("BTC"), Symbol.of("ETH"), Symbol.of("ADA")));
+
+    assertThat(prices.get(Symbol.of("BTC")).value()).isEqualByComparingTo("65432.50");
+    assertThat(prices.get(Symbol.of("ETH")).value()).isEqualByComparingTo("3456.78");
+    assertThat(prices.get(Symbol.of("ADA")).value()).isEqualByComparingTo("0.45");
+    verify(exactly(1), getRequestedFor(urlMatching("/v2/price/bysymbol/.*")));
+  }
+
+  @Test
+  void testBatchWithInvalidSymbolFallsBackToSingleRequests() {
+    stubFor(get(urlEqualTo("/v2/price/bysymbol/BTC,NOPE")).willReturn(aResponse().withStatus(404)));
+    stubFor(get(urlEqualTo("/v2/price/bysymbol/NOPE")).willReturn(aResponse().withStatus(404)));
+    setupSinglePriceResponse("BTC", "65432.50");
+
+    Map<Symbol, Price> prices = coinCapClient.getPrices(List.of(Symbol.of("BTC"), Symbol.of("NOPE")));
+
+    assertThat(prices).containsOnlyKeys(Symbol.of("BTC"));
+    verify(exactly(1), getRequestedFor(urlEqualTo("/v2/price/bysymbol/BTC")));
+    verify(exactly(1), getRequestedFor(urlEqualTo("/v2/price/bysymbol/NOPE")));
+  }
+
+  @Test
+  void testRequestLatencyIsRecordedPerCall() {
+    List<Symbol> symbols = List.of(Symbol.of("BTC"), Symbol.of("ETH"), Symbol.of("ADA"), Symbol.of("DOT"));
+
+    symbols.forEach(coinCapClient::getPrice);
+
+    var latency = meterRegistry.get("coincap.request.latency").tag("outcome", "success").timer();
+    assertThat(latency.count()).isEqualTo(symbols.size());
+    assertThat(meterRegistry.get("coincap.request.throttle").timer().count()).isEqualTo(symbols.size());
+  }
+
+  @Test
+  void testConcurrentLookupsOfSameSymbolShareOneRequest() {
+    stubFor(get(urlEqualTo("/v2/price/bysymbol/BTC")).willReturn(
+        aResponse().withStatus(200).withHeader("Content-Type", "application/json").withFixedDelay(300).withBody("""
+            {
+              "timestamp": %d,
+              "data": ["65432.50"]
+            }
+            """.formatted(System.currentTimeMillis()))));
+    Symbol btc = Symbol.of("BTC");
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var lookups = IntStream.range(0, 10)
+          .mapToObj(i -> CompletableFuture.supplyAsync(() -> coinCapClient.getPrice(btc), executor))
+          .toList();
+
+      lookups.forEach(lookup -> assertThat(lookup.join()).isPresent());
+    }
+    verify(exactly(1), getRequestedFor(urlEqualTo("/v2/price/bysymbol/BTC")));
+  }
+
   @Test
   void testSymbolValidation() {
     String[] validSymbols = {"BTC", "ETH", "ADA"};
@@ -89,6 +158,15 @@ public class CoinCapApiManualTest {
     verify(exactly(3), getRequestedFor(urlMatching("/v2/price/bysymbol/.*")));
   }
 
+  @Test
+  void testSymbolValidationDistinguishesUnknownSymbolFromOutage() {
+    stubFor(get(urlEqualTo("/v2/price/bysymbol/NOPE")).willReturn(aResponse().withStatus(404)));
+    stubFor(get(urlEqualTo("/v2/price/bysymbol/DOWN")).willReturn(aResponse().withStatus(503)));
+
+    assertThat(coinCapClient.validateSymbol(Symbol.of("NOPE"))).isFalse();
+    assertThatThrownBy(() -> coinCapClient.validateSymbol(Symbol.of("DOWN"))).isInstanceOf(IllegalStateException.class);
+  }
+
   @Test
   void testBearerTokenAuthentication() {
     Symbol btc = Symbol.of("BTC");
@@ -108,7 +186,7 @@ public class CoinCapApiManualTest {
         .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer test-api-key")
         .build();
 
-    return new CoinMarketCap(restClient, Executors.newVirtualThreadPerTaskExecutor());
+    return new CoinMarketCap(restClient, Executors.newVirtualThreadPerTaskExecutor(), 3, 50, 50, meterRegistry);
   }
 
   private void setupMockResponses() {
@@ -0,0 +1,125 @@
+package com.crypto.wallet.infrastructure.adapter.out.coinmarketcap;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestClient;
+
+class CoinMarketCapTest {
+
+  private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private WireMockServer wireMockServer;
+
+  @BeforeEach
+  void setUp() {
+    wireMockServer = new WireMockServer(0);
+    wireMockServer.start();
+    WireMock.configureFor(wireMockServer.port());
+    stubFor(get(urlMatching("/v2/price/bysymbol/.*")).willReturn(
+        aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody("""
+            {
+              "timestamp": 1735689600000,
+              "data": ["100"]
+            }
+            """)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.close();
+    wireMockServer.stop();
+  }
+
+  @Test
+  void getPrices_ShouldNeverHaveMoreRequestsInFlightThanTheConcurrencyLimit() {
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    // The first requests hold on until the limit is reached, so the test sees it reached rather than just not exceeded.
+    var limitReached = new CountDownLatch(3);
+    ClientHttpRequestInterceptor counter = (request, body, execution) -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        limitReached.countDown();
+        limitReached.await(5, TimeUnit.SECONDS);
+        return execution.execute(request, body);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    };
+    var coinMarketCap = new CoinMarketCap(restClient(counter), executor, 3, 1_000, 1, new SimpleMeterRegistry());
+
+    var prices = coinMarketCap.getPrices(symbols(12));
+
+    assertThat(prices).hasSize(12);
+    assertThat(maxInFlight).hasValue(3);
+  }
+
+  @Test
+  void getPrice_ShouldSendNoMoreRequestsPerSecondThanTheRate() {
+    var ticker = new FakeTicker();
+    var sentAt = new CopyOnWriteArrayList<Long>();
+    ClientHttpRequestInterceptor recorder = (request, body, execution) -> {
+      sentAt.add(ticker.nanoTime());
+      return execution.execute(request, body);
+    };
+    var coinMarketCap = new CoinMarketCap(restClient(recorder), executor, 3, new RequestRateLimiter(2, ticker), 1,
+        new SimpleMeterRegistry());
+
+    symbols(6).forEach(coinMarketCap::getPrice);
+
+    assertThat(sentAt).containsExactly(0L, 0L, SECOND, SECOND, 2 * SECOND, 2 * SECOND);
+  }
+
+  private RestClient restClient(ClientHttpRequestInterceptor interceptor) {
+    return RestClient.builder()
+        .baseUrl(wireMockServer.baseUrl() + "/v2")
+        .requestInterceptor(interceptor)
+        .build();
+  }
+
+  private static List<Symbol> symbols(int count) {
+    return IntStream.range(0, count).mapToObj(i -> Symbol.of("S" + i)).toList();
+  }
+
+  private static class FakeTicker implements RequestRateLimiter.Ticker {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Override
+    public long nanoTime() {
+      return now.get();
+    }
+
+    @Override
+    public void sleep(long nanos) {
+      now.addAndGet(nanos);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.crypto.wallet.infrastructure.adapter.out.coinmarketcap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RequestRateLimiterTest {
+
+  private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+  private final FakeTicker ticker = new FakeTicker();
+
+  @Test
+  void acquire_AfterIdlePeriod_ShouldAllowOneSecondOfPermitsBackToBack() {
+    var rateLimiter = new RequestRateLimiter(5, ticker);
+
+    for (var i = 0; i < 5; i++) {
+      assertThat(rateLimiter.reserve()).isLessThanOrEqualTo(0);
+    }
+    assertThat(rateLimiter.reserve()).isEqualTo(SECOND);
+  }
+
+  @Test
+  void acquire_ShouldNeverLetAnySecondHoldMoreThanTheRate() throws InterruptedException {
+    var rateLimiter = new RequestRateLimiter(5, ticker);
+
+    var grantedAt = new ArrayList<Long>();
+    for (var i = 0; i < 50; i++) {
+      rateLimiter.acquire();
+      grantedAt.add(ticker.nanoTime());
+    }
+
+    assertWithinRate(grantedAt, 5);
+    assertThat(grantedAt.get(49)).isEqualTo(9 * SECOND);
+  }
+
+  @Test
+  void acquire_AfterPartialIdle_ShouldRefillOnlyThePermitsWhoseSecondHasPassed() {
+    var rateLimiter = new RequestRateLimiter(4, ticker);
+
+    assertThat(rateLimiter.reserve()).isLessThanOrEqualTo(0);
+    ticker.advance(SECOND / 2);
+    for (var i = 0; i < 3; i++) {
+      assertThat(rateLimiter.reserve()).isLessThanOrEqualTo(0);
+    }
+    ticker.advance(SECOND * 7 / 10);
+
+    assertThat(rateLimiter.reserve()).isLessThanOrEqualTo(0);
+    assertThat(rateLimiter.reserve()).isEqualTo(SECOND * 3 / 10);
+  }
+
+  @Test
+  void acquire_WhenRateIsBelowOnePerSecond_ShouldSpaceRequestsByTheirInterval() {
+    var rateLimiter = new RequestRateLimiter(0.5, ticker);
+
+    assertThat(rateLimiter.reserve()).isLessThanOrEqualTo(0);
+    assertThat(rateLimiter.reserve()).isEqualTo(2 * SECOND);
+  }
+
+  @Test
+  void reserve_WhenCalledConcurrently_ShouldHandOutSlotsWithinTheRate() {
+    var rateLimiter = new RequestRateLimiter(10, ticker);
+
+    List<Long> slots;
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var reservations = new ArrayList<CompletableFuture<Long>>();
+      for (var i = 0; i < 100; i++) {
+        reservations.add(CompletableFuture.supplyAsync(rateLimiter::reserve, executor));
+      }
+      slots = reservations.stream().map(CompletableFuture::join).sorted().toList();
+    }
+
+    assertWithinRate(slots, 10);
+    assertThat(slots.stream().filter(wait -> wait <= 0)).hasSize(10);
+    assertThat(slots.get(99)).isEqualTo(9 * SECOND);
+  }
+
+  @Test
+  void constructor_WhenRateIsNotPositive_ShouldThrow() {
+    assertThatThrownBy(() -> new RequestRateLimiter(0, ticker))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Permits per second must be positive");
+  }
+
+  private static void assertWithinRate(List<Long> sortedTimes, int permitsPerSecond) {
+    for (var i = permitsPerSecond; i < sortedTimes.size(); i++) {
+      assertThat(sortedTimes.get(i) - sortedTimes.get(i - permitsPerSecond)).isGreaterThanOrEqualTo(SECOND);
+    }
+  }
+
+  private static class FakeTicker implements RequestRateLimiter.Ticker {
+
+    private final AtomicLong now = new AtomicLong();
+
+    void advance(long nanos) {
+      now.addAndGet(nanos);
+    }
+
+    @Override
+    public long nanoTime() {
+      return now.get();
+    }
+
+    @Override
+    public void sleep(long nanos) {
+      advance(nanos);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.crypto.wallet.infrastructure.adapter.out.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crypto.wallet.BaseIT;
+import com.crypto.wallet.application.model.Asset;
+import com.crypto.wallet.application.model.PortfolioSummary.SymbolExposure;
+import com.crypto.wallet.application.model.PortfolioSummary.WalletValue;
+import com.crypto.wallet.application.model.User;
+import com.crypto.wallet.application.model.primitives.Email;
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Quantity;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.port.out.AssetRepository;
+import com.crypto.wallet.application.port.out.UserRepository;
+import com.crypto.wallet.infrastructure.adapter.in.rest.dto.PortfolioSummaryResponse;
+import com.crypto.wallet.infrastructure.adapter.out.postgres.SymbolDictionary;
+import java.math.BigDecimal;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ColumnarHoldingsStoreIT extends BaseIT {
+
+  private static final Symbol BTC = Symbol.of("BTC");
+  private static final Symbol ETH = Symbol.of("ETH");
+
+  @Autowired
+  private ColumnarHoldingsStore holdingsStore;
+
+  @Autowired
+  private AssetRepository assetRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private JdbcClient jdbcClient;
+
+  @Autowired
+  private SymbolDictionary symbolDictionary;
+
+  @Test
+  void load_ShouldValueHoldingsAlreadyStored() {
+    var user = createUser("load");
+    assetRepository.save(Asset.create(user.walletId(), BTC, quantity("2"), price("50000")));
+    assetRepository.updatePricesForSymbols(Map.of(BTC, price("60000")));
+
+    holdingsStore.load();
+
+    var summary = holdingsStore.summarize(1);
+    assertThat(summary.totalValue()).isEqualTo(price("120000"));
+    assertThat(summary.topWallets()).containsExactly(new WalletValue(user.walletId(), price("120000")));
+  }
+
+  @Test
+  void summarize_ShouldFollowCommittedRepositoryWrites() {
+    holdingsStore.load();
+    var first = createUser("first");
+    var second = createUser("second");
+
+    assetRepository.mergeAsset(first.walletId(), BTC, quantity("1"), price("50000"), 10);
+    assetRepository.mergeAsset(first.walletId(), BTC, quantity("1"), price("70000"), 10);
+    assetRepository.save(Asset.create(second.walletId(), ETH, quantity("10"), price("3000")));
+    assetRepository.save(Asset.create(second.walletId(), BTC, quantity("1"), price("65000")));
+    assetRepository.delete(second.walletId(), BTC);
+    assetRepository.updatePricesForSymbols(Map.of(BTC, price("80000")));
+
+    var summary = holdingsStore.summarize(10);
+    assertThat(summary.holdingCount()).isEqualTo(2);
+    assertThat(summary.exposures()).containsExactly(
+        new SymbolExposure(BTC, quantity("2"), price("160000")),
+        new SymbolExposure(ETH, quantity("10"), price("30000")));
+    assertThat(summary.topWallets()).containsExactly(
+        new WalletValue(first.walletId(), price("160000")),
+        new WalletValue(second.walletId(), price("30000")));
+
+    var response = restTemplate.getForEntity("http://localhost:" + port + "/api/v1/portfolio/summary?top=1",
+        PortfolioSummaryResponse.class);
+    assertThat(response.getBody().total()).isEqualByComparingTo("190000");
+    assertThat(response.getBody().topWallets()).extracting(PortfolioSummaryResponse.TopWallet::id)
+        .containsExactly(first.walletId().toString());
+  }
+
+  @Test
+  void syncPrices_ShouldApplyPricesWrittenByAnotherInstance() {
+    var user = createUser("synced");
+    assetRepository.save(Asset.create(user.walletId(), BTC, quantity("2"), price("50000")));
+    holdingsStore.load();
+    holdingsStore.syncPrices();
+
+    // Written directly, as another instance's refresh would, so no event reaches this store.
+    jdbcClient.sql("""
+            INSERT INTO symbol_prices (symbol_id, price, updated_at)
+            VALUES (?, 60000, now())
+            ON CONFLICT (symbol_id) DO UPDATE SET price = EXCLUDED.price, updated_at = EXCLUDED.updated_at
+            """)
+        .param(symbolDictionary.idOf(BTC))
+        .update();
+    holdingsStore.syncPrices();
+
+    assertThat(holdingsStore.summarize(1).totalValue()).isEqualTo(price("120000"));
+  }
+
+  @Test
+  void summarize_WhenWriteIsRolledBack_ShouldNotSeeIt() {
+    holdingsStore.load();
+    var user = createUser("rollback");
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      assetRepository.save(Asset.create(user.walletId(), BTC, quantity("1"), price("50000")));
+      status.setRollbackOnly();
+    });
+
+    assertThat(holdingsStore.summarize(10).holdingCount()).isZero();
+  }
+
+  private User createUser(String name) {
+    var user = User.create(Email.of(name + "@marvel.com"));
+    userRepository.save(user);
+    return user;
+  }
+
+  private static Price price(String value) {
+    return Price.of(new BigDecimal(value));
+  }
+
+  private static Quantity quantity(String value) {
+    return Quantity.of(new BigDecimal(value));
+  }
+}
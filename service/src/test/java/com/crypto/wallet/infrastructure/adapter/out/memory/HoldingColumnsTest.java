@@ -0,0 +1,172 @@
+package com.crypto.wallet.infrastructure.adapter.out.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crypto.wallet.application.model.HoldingEvent;
+import com.crypto.wallet.application.model.PortfolioSummary.SymbolExposure;
+import com.crypto.wallet.application.model.PortfolioSummary.WalletValue;
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Quantity;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.model.primitives.WalletId;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HoldingColumnsTest {
+
+  private static final Symbol BTC = Symbol.of("BTC");
+  private static final Symbol ETH = Symbol.of("ETH");
+
+  private final HoldingColumns columns = new HoldingColumns();
+
+  @Test
+  void summarize_WhenEmpty_ShouldReturnZeroTotal() {
+    var summary = columns.summarize(10);
+
+    assertThat(summary.totalValue()).isEqualTo(Price.zero());
+    assertThat(summary.walletCount()).isZero();
+    assertThat(summary.exposures()).isEmpty();
+    assertThat(summary.topWallets()).isEmpty();
+  }
+
+  @Test
+  void summarize_ShouldValueHoldingsAtLatestSymbolPrice() {
+    var first = WalletId.generate();
+    var second = WalletId.generate();
+    columns.put(first, BTC, quantity("0.5"), price("60000"));
+    columns.put(second, BTC, quantity("2"), price("61000"));
+    columns.put(second, ETH, quantity("10"), price("3000"));
+    columns.apply(new HoldingEvent.PricesChanged(Map.of(BTC, price("70000"))));
+
+    var summary = columns.summarize(10);
+
+    assertThat(summary.totalValue()).isEqualTo(price("205000"));
+    assertThat(summary.walletCount()).isEqualTo(2);
+    assertThat(summary.holdingCount()).isEqualTo(3);
+    assertThat(summary.exposures()).containsExactly(
+        new SymbolExposure(BTC, quantity("2.5"), price("175000")),
+        new SymbolExposure(ETH, quantity("10"), price("30000")));
+    assertThat(summary.topWallets()).containsExactly(
+        new WalletValue(second, price("170000")),
+        new WalletValue(first, price("35000")));
+  }
+
+  @Test
+  void put_WhenSymbolWasNeverRefreshed_ShouldValueHoldingAtItsOwnPrice() {
+    var first = WalletId.generate();
+    var second = WalletId.generate();
+    columns.put(first, BTC, quantity("1"), price("60000"));
+    columns.put(second, BTC, quantity("1"), price("50000"));
+    columns.put(first, BTC, quantity("3"), price("61000"));
+
+    var summary = columns.summarize(2);
+
+    assertThat(summary.holdingCount()).isEqualTo(2);
+    assertThat(summary.totalValue()).isEqualTo(price("233000"));
+    assertThat(summary.topWallets()).containsExactly(new WalletValue(first, price("183000")), new WalletValue(second, price("50000")));
+  }
+
+  @Test
+  void remove_WhenRemovedHoldingDidNotFitInLong_ShouldValueTheRestOnLongs() {
+    var walletId = WalletId.generate();
+    columns.put(walletId, BTC, quantity("999999999999.99999999"), price("99999999999999.999999"));
+
+    columns.remove(walletId, BTC);
+    columns.put(walletId, ETH, quantity("1"), price("1"));
+
+    assertThat(columns.summarize(1).topWallets()).containsExactly(new WalletValue(walletId, price("1")));
+  }
+
+  @Test
+  void remove_ShouldMoveLastRowIntoGap() {
+    var first = WalletId.generate();
+    var second = WalletId.generate();
+    columns.put(first, BTC, quantity("1"), price("100"));
+    columns.put(first, ETH, quantity("1"), price("10"));
+    columns.put(second, ETH, quantity("2"), price("10"));
+
+    columns.apply(new HoldingEvent.Removed(first, BTC));
+    columns.put(second, ETH, quantity("5"), price("10"));
+    columns.remove(first, BTC);
+
+    var summary = columns.summarize(10);
+    assertThat(summary.holdingCount()).isEqualTo(2);
+    assertThat(summary.exposures()).containsExactly(new SymbolExposure(ETH, quantity("6"), price("60")));
+    assertThat(summary.topWallets()).containsExactly(new WalletValue(second, price("50")), new WalletValue(first, price("10")));
+  }
+
+  @Test
+  void remove_WhenWalletHasNoHoldingsLeft_ShouldNotCountIt() {
+    var walletId = WalletId.generate();
+    columns.put(walletId, BTC, quantity("1"), price("100"));
+
+    columns.remove(walletId, BTC);
+
+    var summary = columns.summarize(10);
+    assertThat(summary.walletCount()).isZero();
+    assertThat(summary.exposures()).isEmpty();
+    assertThat(summary.topWallets()).isEmpty();
+  }
+
+  @Test
+  void summarize_WhenValuesDoNotFitInLong_ShouldFallBackToExactArithmetic() {
+    var walletId = WalletId.generate();
+    columns.put(walletId, BTC, quantity("999999999999.99999999"), price("99999999999999.999999"));
+    columns.put(walletId, ETH, quantity("1"), price("0.000001"));
+
+    var summary = columns.summarize(1);
+
+    var btcValue = new BigDecimal("999999999999.99999999").multiply(new BigDecimal("99999999999999.999999"))
+        .setScale(Price.SCALE, RoundingMode.HALF_UP);
+    assertThat(summary.totalValue().value()).isEqualByComparingTo(btcValue.add(new BigDecimal("0.000001")));
+    assertThat(summary.exposures().get(0).quantity()).isEqualTo(quantity("999999999999.99999999"));
+    assertThat(summary.topWallets()).containsExactly(new WalletValue(walletId, summary.totalValue()));
+  }
+
+  @Test
+  void summarize_WhenRowsSpanManyForkJoinLeaves_ShouldMatchBigDecimalArithmetic() {
+    var random = new Random(7);
+    var symbols = List.of(BTC, ETH, Symbol.of("SOL"), Symbol.of("ADA"));
+    var prices = new HashMap<Symbol, Price>();
+    symbols.forEach(symbol -> prices.put(symbol, Price.of(BigDecimal.valueOf(random.nextLong(1, 10_000_000_000L), 6))));
+    var walletTotals = new HashMap<WalletId, BigDecimal>();
+    var expectedTotal = BigDecimal.ZERO;
+    var wallets = new ArrayList<WalletId>();
+    for (int i = 0; i < 20_000; i++) {
+      wallets.add(WalletId.generate());
+    }
+    for (int row = 0; row < HoldingColumns.LEAF_SIZE * 3 + 17; row++) {
+      var walletId = wallets.get(row % wallets.size());
+      var symbol = symbols.get((row / wallets.size()) % symbols.size());
+      var quantity = Quantity.of(BigDecimal.valueOf(random.nextLong(1, 100_000_000_000L), 8));
+      columns.put(walletId, symbol, quantity, prices.get(symbol));
+      var value = prices.get(symbol).value().multiply(quantity.value()).setScale(Price.SCALE, RoundingMode.HALF_UP);
+      walletTotals.merge(walletId, value, BigDecimal::add);
+      expectedTotal = expectedTotal.add(value);
+    }
+    var summary = columns.summarize(3);
+
+    var richest = walletTotals.entrySet().stream()
+        .sorted(Map.Entry.<WalletId, BigDecimal>comparingByValue(Comparator.reverseOrder()))
+        .limit(3)
+        .map(entry -> new WalletValue(entry.getKey(), Price.of(entry.getValue())))
+        .toList();
+    assertThat(summary.totalValue()).isEqualTo(Price.of(expectedTotal));
+    assertThat(summary.topWallets()).isEqualTo(richest);
+  }
+
+  private static Price price(String value) {
+    return Price.of(new BigDecimal(value));
+  }
+
+  private static Quantity quantity(String value) {
+    return Quantity.of(new BigDecimal(value));
+  }
+}
@@ -0,0 +1,137 @@
+package com.crypto.wallet.infrastructure.adapter.out.postgres;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crypto.wallet.BaseIT;
+import com.crypto.wallet.application.model.User;
+import com.crypto.wallet.application.model.primitives.Email;
+import com.crypto.wallet.application.model.primitives.Price;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.port.out.UserRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that the legacy dynamic {@code VALUES} update and the {@code unnest} and {@code COPY} paths of {@link BulkPriceWriter}
+ * leave every holding valued at the prices written. Their timings are compared by {@code BulkPriceWriterBenchmark}.
+ */
+class BulkPriceWriterIT extends BaseIT {
+
+  private static final int SYMBOLS = 50;
+
+  @Autowired
+  private JdbcClient jdbcClient;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private SymbolDictionary symbolDictionary;
+
+  private BulkPriceWriter bulkPriceWriter;
+  private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    bulkPriceWriter = new BulkPriceWriter(jdbcClient, dataSource, symbolDictionary);
+    transactionTemplate = new TransactionTemplate(transactionManager);
+
+    var user = User.create(Email.of("spider.man@marvel.com"));
+    userRepository.save(user);
+    jdbcClient.sql("""
+            INSERT INTO symbols (symbol)
+            SELECT 'S' || g FROM generate_series(1, ?) g
+            ON CONFLICT (symbol) DO NOTHING
+            """)
+        .param(SYMBOLS)
+        .update();
+    jdbcClient.sql("""
+            INSERT INTO assets (wallet_id, symbol_id, quantity, price, updated_at)
+            SELECT ?, s.symbol_id, 1, 1, now()
+            FROM generate_series(1, ?) g
+            JOIN symbols s ON s.symbol = 'S' || g
+            """)
+        .param(user.walletId().value())
+        .param(SYMBOLS)
+        .update();
+    symbolDictionary.load();
+  }
+
+  @Test
+  void write_ShouldValueEveryHoldingAtTheWrittenPriceWithEveryStrategy() {
+    // The legacy update only touches assets, so it runs before symbol_prices holds anything that would take precedence.
+    assertWrites("values", prices(100), this::writeWithValues);
+    assertWrites("unnest", prices(200), prices -> bulkPriceWriter.writeWithUnnest(prices, OffsetDateTime.now()));
+    assertWrites("copy", prices(300), prices -> bulkPriceWriter.writeWithCopy(prices, OffsetDateTime.now()));
+  }
+
+  private void assertWrites(String strategy, Map<Symbol, Price> prices, ToIntFunction<Map<Symbol, Price>> writer) {
+    var updated = transactionTemplate.execute(status -> writer.applyAsInt(prices));
+
+    assertThat(updated).as(strategy).isEqualTo(SYMBOLS);
+    assertThat(heldPrices()).as(strategy).isEqualTo(prices);
+  }
+
+  private static Map<Symbol, Price> prices(int base) {
+    return IntStream.rangeClosed(1, SYMBOLS).boxed()
+        .collect(Collectors.toMap(i -> Symbol.of("S" + i), i -> Price.of(new BigDecimal(base + i + ".123456"))));
+  }
+
+  private Map<Symbol, Price> heldPrices() {
+    var held = new HashMap<Symbol, Price>();
+    jdbcClient.sql("""
+        SELECT s.symbol, COALESCE(sp.price, a.price) AS price
+        FROM assets a
+        JOIN symbols s ON s.symbol_id = a.symbol_id
+        LEFT JOIN symbol_prices sp ON sp.symbol_id = a.symbol_id
+        """).query(rs -> {
+          held.put(Symbol.of(rs.getString("symbol")), Price.of(rs.getBigDecimal("price")));
+        });
+    return held;
+  }
+
+  /**
+   * The pre-bulk-writer implementation: three bind parameters per symbol and a new statement text for every batch size.
+   */
+  private int writeWithValues(Map<Symbol, Price> symbolPrices) {
+    var now = OffsetDateTime.now();
+    var valuesClause = new StringBuilder();
+    List<Object> params = new ArrayList<>();
+    for (var entry : symbolPrices.entrySet()) {
+      if (!params.isEmpty()) {
+        valuesClause.append(", ");
+      }
+      valuesClause.append("(?, ?, ?)");
+      params.add(symbolDictionary.idOf(entry.getKey()));
+      params.add(entry.getValue().value());
+      params.add(now);
+    }
+
+    return jdbcClient.sql("""
+        UPDATE assets
+        SET price = new_values.price, updated_at = new_values.updated_at
+        FROM (VALUES %s) AS new_values(symbol_id, price, updated_at)
+        WHERE assets.symbol_id = new_values.symbol_id
+        """.formatted(valuesClause)).params(params.toArray()).update();
+  }
+}
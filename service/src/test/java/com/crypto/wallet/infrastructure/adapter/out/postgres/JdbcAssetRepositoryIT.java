@@ -7,15 +7,26 @@ import com.crypto.wallet.application.port.out.AssetRepository;
 import com.crypto.wallet.application.port.out.UserRepository;
 import com.crypto.wallet.application.model.Asset;
 import com.crypto.wallet.application.model.User;
+import com.crypto.wallet.application.model.Wallet;
+import com.crypto.wallet.application.model.WalletPageQuery;
 import com.crypto.wallet.application.model.primitives.Email;
 import com.crypto.wallet.application.model.primitives.Price;
 import com.crypto.wallet.application.model.primitives.Quantity;
 import com.crypto.wallet.application.model.primitives.Symbol;
+import com.crypto.wallet.application.model.primitives.WalletId;
+import com.crypto.wallet.application.service.WalletDomainService;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
 
 class JdbcAssetRepositoryIT extends BaseIT {
 
@@ -25,6 +36,12 @@ class JdbcAssetRepositoryIT extends BaseIT {
   @Autowired
   private UserRepository userRepository;
 
+  @Autowired
+  private JdbcClient jdbcClient;
+
+  @Autowired
+  private SymbolDictionary symbolDictionary;
+
   @Test
   void assetRepository_ShouldSaveAndFindAssets() {
     var email = Email.of("spider.man+" + System.currentTimeMillis() + "@marvel.com");
@@ -54,4 +71,234 @@ class JdbcAssetRepositoryIT extends BaseIT {
     assertThat(assetsAfterUpdate).hasSize(2);
     assertThat(assetsAfterUpdate.get(0).quantity().value()).isEqualByComparingTo(new BigDecimal("2.0"));
   }
+
+  @Test
+  void mergeAsset_WhenSymbolIsHeld_ShouldApplyWeightedAveragePrice() {
+    var user = createUser();
+    var walletId = user.walletId();
+    var btcSymbol = Symbol.of("BTC");
+    var existing = Asset.create(walletId, btcSymbol, Quantity.of(new BigDecimal("1.5")), Price.of(new BigDecimal("50000")));
+    assetRepository.save(existing);
+
+    var addedQuantity = Quantity.of(new BigDecimal("0.3333"));
+    var addedPrice = Price.of(new BigDecimal("61234.567891"));
+    var wallet = assetRepository.mergeAsset(walletId, btcSymbol, addedQuantity, addedPrice, 100);
+
+    var expected = new WalletDomainService().mergeAssetQuantities(existing, addedQuantity, addedPrice);
+    assertThat(wallet).isPresent();
+    assertThat(wallet.get().createdAt()).isNotNull();
+    var merged = wallet.get().findAssetBySymbol(btcSymbol).orElseThrow();
+    assertThat(merged.quantity()).isEqualTo(expected.quantity());
+    assertThat(merged.price()).isEqualTo(expected.price());
+  }
+
+  @Test
+  void mergeAsset_WhenAddedConcurrently_ShouldNotLoseUpdates() {
+    var walletId = createUser().walletId();
+    var btcSymbol = Symbol.of("BTC");
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      IntStream.range(0, 20)
+          .mapToObj(i -> executor.submit(() -> assetRepository.mergeAsset(walletId, btcSymbol,
+              Quantity.of(BigDecimal.ONE), Price.of(new BigDecimal("100")), 100)))
+          .toList()
+          .forEach(this::join);
+    }
+
+    var assets = assetRepository.findByWalletId(walletId);
+    assertThat(assets).hasSize(1);
+    assertThat(assets.get(0).quantity().value()).isEqualByComparingTo("20");
+    assertThat(assets.get(0).price().value()).isEqualByComparingTo("100");
+  }
+
+  @Test
+  void mergeAsset_WhenAssetCapIsReached_ShouldOnlyMergeHeldSymbols() {
+    var walletId = createUser().walletId();
+    var quantity = Quantity.of(BigDecimal.ONE);
+    var price = Price.of(BigDecimal.TEN);
+    assetRepository.mergeAsset(walletId, Symbol.of("BTC"), quantity, price, 2);
+    assetRepository.mergeAsset(walletId, Symbol.of("ETH"), quantity, price, 2);
+
+    var rejected = assetRepository.mergeAsset(walletId, Symbol.of("SOL"), quantity, price, 2);
+    var merged = assetRepository.mergeAsset(walletId, Symbol.of("ETH"), quantity, price, 2);
+
+    assertThat(rejected).isPresent();
+    assertThat(rejected.get().hasAsset(Symbol.of("SOL"))).isFalse();
+    assertThat(rejected.get().getAssetCount()).isEqualTo(2);
+    assertThat(merged.get().findAssetBySymbol(Symbol.of("ETH")).orElseThrow().quantity().value()).isEqualByComparingTo("2");
+  }
+
+  @Test
+  void mergeAsset_WhenNewSymbolsAreAddedConcurrently_ShouldNotExceedAssetCap() {
+    var walletId = createUser().walletId();
+    var quantity = Quantity.of(BigDecimal.ONE);
+    var price = Price.of(BigDecimal.TEN);
+    var symbols = IntStream.range(0, 20).mapToObj(i -> Symbol.of("CAP" + i)).toList();
+    // Registered up front so the adds race each other rather than the symbol inserts.
+    symbols.forEach(symbolDictionary::idOf);
+    assetRepository.mergeAsset(walletId, Symbol.of("BTC"), quantity, price, 3);
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      symbols.stream()
+          .map(symbol -> executor.submit(() -> assetRepository.mergeAsset(walletId, symbol, quantity, price, 3)))
+          .toList()
+          .forEach(this::join);
+    }
+
+    assertThat(assetRepository.findByWalletId(walletId)).hasSize(3);
+  }
+
+  @Test
+  void mergeAsset_WhenAssetCapRejectsUnknownSymbol_ShouldNotRegisterIt() {
+    var walletId = createUser().walletId();
+    var quantity = Quantity.of(BigDecimal.ONE);
+    var price = Price.of(BigDecimal.TEN);
+    assetRepository.mergeAsset(walletId, Symbol.of("BTC"), quantity, price, 1);
+
+    var rejected = assetRepository.mergeAsset(walletId, Symbol.of("NEWCAP"), quantity, price, 1);
+
+    assertThat(rejected.orElseThrow().getAssetCount()).isEqualTo(1);
+    assertThat(symbolDictionary.find(Symbol.of("NEWCAP"))).isEmpty();
+  }
+
+  @Test
+  void mergeAsset_WhenManyNewSymbolsAreAddedConcurrently_ShouldNotExhaustConnectionPool() {
+    var quantity = Quantity.of(BigDecimal.ONE);
+    var price = Price.of(BigDecimal.TEN);
+    var wallets = IntStream.range(0, 30).mapToObj(i -> createUser().walletId()).toList();
+    // Symbols unique to this run, so every add has to register its symbol.
+    var run = System.nanoTime() % 1_000_000;
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      IntStream.range(0, wallets.size())
+          .mapToObj(i -> executor.submit(() -> assetRepository.mergeAsset(wallets.get(i), Symbol.of("P" + run + "X" + i), quantity,
+              price, 100)))
+          .toList()
+          .forEach(this::join);
+    }
+
+    assertThat(wallets).allSatisfy(walletId -> assertThat(assetRepository.findByWalletId(walletId)).hasSize(1));
+  }
+
+  @Test
+  void mergeAsset_WhenWalletDoesNotExist_ShouldReturnEmpty() {
+    var wallet = assetRepository.mergeAsset(WalletId.generate(), Symbol.of("BTC"), Quantity.of(BigDecimal.ONE),
+        Price.of(BigDecimal.TEN), 100);
+
+    assertThat(wallet).isEmpty();
+  }
+
+  @Test
+  void updatePricesForSymbols_ShouldValueHoldingsAtCurrentPriceAndKeepPurchasePrice() {
+    var walletId = createUser().walletId();
+    var btcSymbol = Symbol.of("BTC");
+    var quantity = Quantity.of(BigDecimal.ONE);
+    assetRepository.mergeAsset(walletId, btcSymbol, quantity, Price.of(new BigDecimal("100")), 100);
+
+    assetRepository.updatePricesForSymbols(Map.of(btcSymbol, Price.of(new BigDecimal("300"))));
+    var valued = assetRepository.findByWalletId(walletId);
+    var merged = assetRepository.mergeAsset(walletId, btcSymbol, quantity, Price.of(new BigDecimal("200")), 100);
+
+    assertThat(valued.get(0).price().value()).isEqualByComparingTo("300");
+    assertThat(assetRepository.findLatestPrices()).singleElement()
+        .satisfies(latest -> assertThat(latest.price()).isEqualTo(Price.of(new BigDecimal("300"))))
+        .satisfies(latest -> assertThat(latest.symbol()).isEqualTo(btcSymbol));
+    assertThat(merged.orElseThrow().findAssetBySymbol(btcSymbol).orElseThrow().price().value()).isEqualByComparingTo("300");
+    var purchasePrice = jdbcClient.sql("SELECT price FROM assets WHERE wallet_id = ?").param(walletId.value())
+        .query(BigDecimal.class).single();
+    assertThat(purchasePrice).isEqualByComparingTo("150");
+  }
+
+  @Test
+  void countHoldersBySymbol_ShouldCountWalletsPerHeldSymbol() {
+    var btcSymbol = Symbol.of("BTC");
+    var ethSymbol = Symbol.of("ETH");
+    var quantity = Quantity.of(BigDecimal.ONE);
+    var price = Price.of(new BigDecimal("100"));
+    var first = createUser().walletId();
+    var second = createUser().walletId();
+    assetRepository.save(Asset.create(first, btcSymbol, quantity, price));
+    assetRepository.save(Asset.create(first, ethSymbol, quantity, price));
+    assetRepository.save(Asset.create(second, btcSymbol, quantity, price));
+
+    assertThat(assetRepository.countHoldersBySymbol()).isEqualTo(Map.of(btcSymbol, 2, ethSymbol, 1));
+  }
+
+  @Test
+  void countHoldersBySymbol_WhenHoldingIsDeleted_ShouldDropSymbolsNoLongerHeld() {
+    var btcSymbol = Symbol.of("BTC");
+    var ethSymbol = Symbol.of("ETH");
+    var quantity = Quantity.of(BigDecimal.ONE);
+    var price = Price.of(new BigDecimal("100"));
+    var first = createUser().walletId();
+    var second = createUser().walletId();
+    assetRepository.save(Asset.create(first, btcSymbol, quantity, price));
+    assetRepository.save(Asset.create(first, ethSymbol, quantity, price));
+    assetRepository.save(Asset.create(second, btcSymbol, quantity, price));
+    assertThat(assetRepository.countHoldersBySymbol()).isEqualTo(Map.of(btcSymbol, 2, ethSymbol, 1));
+
+    assetRepository.delete(first, btcSymbol);
+    assetRepository.delete(first, ethSymbol);
+
+    assertThat(assetRepository.countHoldersBySymbol()).isEqualTo(Map.of(btcSymbol, 1));
+    assertThat(assetRepository.findAllUniqueSymbols()).containsExactly(btcSymbol);
+  }
+
+  @Test
+  void findWallets_ShouldPageByCreationTimeAndApplyFilters() {
+    var quantity = Quantity.of(BigDecimal.ONE);
+    var wallets = IntStream.range(0, 5).mapToObj(i -> createUser().walletId()).toList();
+    assetRepository.mergeAsset(wallets.get(1), Symbol.of("BTC"), quantity, Price.of(new BigDecimal("70000")), 100);
+    assetRepository.mergeAsset(wallets.get(3), Symbol.of("BTC"), quantity, Price.of(new BigDecimal("10")), 100);
+    assetRepository.mergeAsset(wallets.get(3), Symbol.of("ETH"), quantity, Price.of(new BigDecimal("3600")), 100);
+
+    var firstPage = assetRepository.findWallets(WalletPageQuery.of(null, 2, null, null));
+    var secondPage = assetRepository.findWallets(WalletPageQuery.of(firstPage.nextCursor().orElseThrow(), 2, null, null));
+    var lastPage = assetRepository.findWallets(WalletPageQuery.of(secondPage.nextCursor().orElseThrow(), 2, null, null));
+
+    var pagedIds = Stream.of(firstPage, secondPage, lastPage)
+        .flatMap(page -> page.wallets().stream())
+        .map(Wallet::walletId)
+        .toList();
+    assertThat(pagedIds).containsExactlyElementsOf(wallets.reversed());
+    assertThat(lastPage.nextCursor()).isEmpty();
+
+    var holdingBtc = assetRepository.findWallets(WalletPageQuery.of(null, 10, Symbol.of("BTC"), null));
+    assertThat(holdingBtc.wallets()).extracting(Wallet::walletId).containsExactly(wallets.get(3), wallets.get(1));
+    assertThat(holdingBtc.wallets().get(0).assets()).hasSize(2);
+
+    var aboveTotal = assetRepository.findWallets(WalletPageQuery.of(null, 10, Symbol.of("BTC"), Price.of(new BigDecimal("5000"))));
+    assertThat(aboveTotal.wallets()).extracting(Wallet::walletId).containsExactly(wallets.get(1));
+  }
+
+  @Test
+  void streamAllWallets_ShouldGroupRowsIntoWalletsNewestFirst() {
+    var quantity = Quantity.of(BigDecimal.ONE);
+    var price = Price.of(BigDecimal.TEN);
+    var older = createUser().walletId();
+    var newer = createUser().walletId();
+    assetRepository.mergeAsset(older, Symbol.of("BTC"), quantity, price, 100);
+    assetRepository.mergeAsset(older, Symbol.of("ETH"), quantity, price, 100);
+
+    var streamed = new ArrayList<Wallet>();
+    assetRepository.streamAllWallets(streamed::add);
+
+    assertThat(streamed).extracting(Wallet::walletId).containsExactly(newer, older);
+    assertThat(streamed.get(0).assets()).isEmpty();
+    assertThat(streamed.get(1).assets()).extracting(Asset::symbol).containsExactly(Symbol.of("BTC"), Symbol.of("ETH"));
+  }
+
+  private User createUser() {
+    var user = User.create(Email.of("spider.man+" + System.nanoTime() + "@marvel.com"));
+    userRepository.save(user);
+    return user;
+  }
+
+  private <T> T join(Future<T> future) {
+    try {
+      return future.get();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
 }
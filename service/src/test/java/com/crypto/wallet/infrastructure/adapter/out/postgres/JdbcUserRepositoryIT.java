@@ -7,14 +7,21 @@ import com.crypto.wallet.application.port.out.UserRepository;
 import com.crypto.wallet.application.model.User;
 import com.crypto.wallet.application.model.primitives.Email;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
 
 class JdbcUserRepositoryIT extends BaseIT {
 
   @Autowired
   private UserRepository userRepository;
 
+  @Autowired
+  private JdbcClient jdbcClient;
+
   @Test
   void userRepository_ShouldSaveAndFindUser() {
     var email = Email.of("spider.man@marvel.com");
@@ -33,4 +40,42 @@ class JdbcUserRepositoryIT extends BaseIT {
     boolean exists = userRepository.existsByEmail(email);
     assertThat(exists).isTrue();
   }
+
+  @Test
+  void saveIfEmailAbsent_WhenEmailIsTaken_ShouldKeepExistingUser() {
+    var email = Email.of("peter.parker@marvel.com");
+    var first = User.create(email);
+
+    assertThat(userRepository.saveIfEmailAbsent(first)).isTrue();
+    assertThat(userRepository.saveIfEmailAbsent(User.create(email))).isFalse();
+
+    assertThat(userRepository.findByEmail(email)).map(User::walletId).contains(first.walletId());
+  }
+
+  @Test
+  void saveIfEmailAbsent_WhenCalledConcurrently_ShouldCreateExactlyOneUser() {
+    var email = Email.of("miles.morales@marvel.com");
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var attempts = IntStream.range(0, 20)
+          .mapToObj(i -> CompletableFuture.supplyAsync(() -> userRepository.saveIfEmailAbsent(User.create(email)), executor))
+          .toList();
+
+      assertThat(attempts.stream().filter(CompletableFuture::join).count()).isEqualTo(1);
+    }
+    assertThat(userRepository.findAllUsers()).filteredOn(user -> user.email().equals(email)).hasSize(1);
+  }
+
+  @Test
+  void schema_ShouldStoreWalletIdsAsUuidWithoutRedundantIndexes() {
+    var walletIdTypes = jdbcClient.sql("""
+        SELECT DISTINCT data_type FROM information_schema.columns
+        WHERE table_name IN ('users', 'assets') AND column_name = 'wallet_id'
+        """).query(String.class).list();
+    var indexes = jdbcClient.sql("SELECT indexname FROM pg_indexes WHERE tablename IN ('users', 'assets')")
+        .query(String.class).list();
+
+    assertThat(walletIdTypes).containsExactly("uuid");
+    assertThat(indexes).doesNotContain("uk_users_email", "uk_users_wallet_id", "idx_assets_wallet_id");
+  }
 }
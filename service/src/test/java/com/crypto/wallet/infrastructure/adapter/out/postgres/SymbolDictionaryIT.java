@@ -0,0 +1,69 @@
+package com.crypto.wallet.infrastructure.adapter.out.postgres;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crypto.wallet.BaseIT;
+import com.crypto.wallet.application.model.primitives.Symbol;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SymbolDictionaryIT extends BaseIT {
+
+  @Autowired
+  private SymbolDictionary symbolDictionary;
+
+  @Autowired
+  private JdbcClient jdbcClient;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void idOf_ShouldRegisterSymbolOnceAndMapBothWays() {
+    var symbol = Symbol.of("DICT");
+
+    var id = symbolDictionary.idOf(symbol);
+
+    assertThat(symbolDictionary.idOf(symbol)).isEqualTo(id);
+    assertThat(symbolDictionary.find(symbol)).hasValue(id);
+    assertThat(symbolDictionary.symbolOf(id)).isEqualTo(symbol);
+    assertThat(jdbcClient.sql("SELECT COUNT(*) FROM symbols WHERE symbol = 'DICT'").query(Long.class).single()).isEqualTo(1);
+  }
+
+  @Test
+  void idOf_WhenCallerRollsBack_ShouldForgetSymbol() {
+    var symbol = Symbol.of("RB" + System.nanoTime() % 100_000_000);
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      symbolDictionary.idOf(symbol);
+      status.setRollbackOnly();
+    });
+
+    assertThat(symbolDictionary.find(symbol)).isEmpty();
+    var id = symbolDictionary.idOf(symbol);
+    assertThat(jdbcClient.sql("SELECT symbol FROM symbols WHERE symbol_id = ?").param(id).query(String.class).single())
+        .isEqualTo(symbol.value());
+  }
+
+  @Test
+  void symbolOf_WhenSymbolWasAddedByAnotherInstance_ShouldLoadItOnMiss() {
+    var id = jdbcClient.sql("""
+        INSERT INTO symbols (symbol) VALUES ('OTHER')
+        ON CONFLICT (symbol) DO UPDATE SET symbol = EXCLUDED.symbol
+        RETURNING symbol_id
+        """).query(Integer.class).single();
+
+    assertThat(symbolDictionary.symbolOf(id)).isEqualTo(Symbol.of("OTHER"));
+    assertThat(symbolDictionary.idsOf(List.of(Symbol.of("OTHER")))).containsEntry(Symbol.of("OTHER"), id);
+  }
+
+  @Test
+  void find_WhenSymbolIsUnknown_ShouldNotRegisterIt() {
+    assertThat(symbolDictionary.find(Symbol.of("NOSUCH"))).isEmpty();
+    assertThat(jdbcClient.sql("SELECT COUNT(*) FROM symbols WHERE symbol = 'NOSUCH'").query(Long.class).single()).isZero();
+  }
+}
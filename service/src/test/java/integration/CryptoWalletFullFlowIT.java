@@ -9,6 +9,7 @@ import com.crypto.wallet.infrastructure.adapter.in.rest.dto.CreateWalletRequest;
 import com.crypto.wallet.infrastructure.adapter.in.rest.dto.ProfitSimulationRequest;
 import com.crypto.wallet.infrastructure.adapter.in.rest.dto.ProfitSimulationResponse;
 import com.crypto.wallet.infrastructure.adapter.in.rest.dto.UserResponse;
+import com.crypto.wallet.infrastructure.adapter.in.rest.dto.WalletPageResponse;
 import com.crypto.wallet.infrastructure.adapter.in.rest.dto.WalletResponse;
 import java.math.BigDecimal;
 import java.util.List;
@@ -51,6 +52,21 @@ class CryptoWalletFullFlowIT extends BaseIT {
     assertThat(walletResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
     assertThat(walletResponse.getBody().assets()).hasSize(2);
 
+    // List wallets
+    ResponseEntity<WalletPageResponse> listResponse = restTemplate.getForEntity("/api/v1/wallets?limit=10", WalletPageResponse.class);
+
+    assertThat(listResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(listResponse.getBody().wallets()).extracting(WalletResponse::id).containsExactly(walletId);
+    assertThat(listResponse.getBody().nextCursor()).isNull();
+
+    // Stream wallets
+    ResponseEntity<String> streamResponse = restTemplate.getForEntity("/api/v1/wallets/stream", String.class);
+
+    assertThat(streamResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(streamResponse.getHeaders().getContentType().toString()).isEqualTo("application/x-ndjson");
+    assertThat(streamResponse.getBody().lines().toList()).singleElement().asString()
+        .contains("\"id\":\"" + walletId + "\"", "\"symbol\":\"BTC\"", "\"symbol\":\"ETH\"");
+
     // Run profit simulation
     AssetSimulationDto btcSimulation = new AssetSimulationDto("BTC", new BigDecimal("0.5"), new BigDecimal("25000"));
     AssetSimulationDto ethSimulation = new AssetSimulationDto("ETH", new BigDecimal("4.25"), new BigDecimal("10000"));
@@ -1,6 +1,7 @@
 const API_URL = 'http://localhost:8080/api/v1';
 let currentWalletId = null;
 let currentWallet = null;
+let loadedWallets = [];
 
 document.addEventListener('DOMContentLoaded', function() {
     setupEventListeners();
@@ -141,17 +142,24 @@ async function addAsset() {
     button.innerHTML = 'Add Asset';
 }
 
-async function loadWalletList() {
-    const response = await fetch(API_URL + '/wallets');
-    const wallets = await response.json();
-    displayWalletList(wallets);
+async function loadWalletList(cursor) {
+    let url = API_URL + '/wallets?limit=50';
+    if (cursor) {
+        url += '&cursor=' + encodeURIComponent(cursor);
+    } else {
+        loadedWallets = [];
+    }
+    const response = await fetch(url);
+    const page = await response.json();
+    loadedWallets = loadedWallets.concat(page.wallets);
+    displayWalletList(loadedWallets, page.next_cursor);
 }
 
-function displayWalletList(wallets) {
+function displayWalletList(wallets, nextCursor) {
     const container = document.getElementById('walletsList');
     const count = document.getElementById('walletCount');
     
-    count.textContent = wallets.length;
+    count.textContent = wallets.length + (nextCursor ? '+' : '');
     
     if (wallets.length === 0) {
         container.innerHTML = '<p>No wallets found</p>';
@@ -169,6 +177,9 @@ function displayWalletList(wallets) {
             '</button>' +
         '</div>';
     }
+    if (nextCursor) {
+        html += '<button class="btn btn-secondary btn-sm" onclick="loadWalletList(\'' + nextCursor + '\')">Load more</button>';
+    }
     container.innerHTML = html;
 }
 